@@ -0,0 +1,36 @@
+package com.escuelaFutbol.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché en memoria (Caffeine) para los catálogos de deportes y categorías.
+ * Las estadísticas de aciertos, fallos y evicciones se publican en Actuator
+ * (/actuator/metrics/cache.gets, /actuator/metrics/cache.evictions y /actuator/caches).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEPORTES = "deportes";
+    public static final String DEPORTE = "deporte";
+    public static final String CATEGORIAS = "categorias";
+    public static final String CATEGORIAS_POR_DEPORTE = "categoriasPorDeporte";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${spring.cache.caffeine.spec:maximumSize=500,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(DEPORTES, DEPORTE, CATEGORIAS, CATEGORIAS_POR_DEPORTE);
+        caffeineCacheManager.setCacheSpecification(spec);
+        // Las evicciones hechas dentro de una transacción se aplican después del commit,
+        // así una lectura concurrente no puede volver a guardar los datos anteriores al cambio.
+        // Por lo mismo, los métodos @Cacheable no son readOnly: con una réplica de lectura configurada
+        // (ReplicaLecturaConfig) leerían de ella y podrían guardar en la caché un dato que todavía no le llegó
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
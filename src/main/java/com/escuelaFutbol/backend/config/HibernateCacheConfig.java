@@ -0,0 +1,67 @@
+package com.escuelaFutbol.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine, en memoria) para los datos de referencia:
+ * Deporte, Categoria y la colección Deporte.categorias.
+ * Así los findById de deportes que hacen los servicios al registrar o actualizar no van a la base de datos.
+ *
+ * Las regiones se crean aquí con un tamaño máximo. Los aciertos y fallos por región salen en /actuator/prometheus
+ * como hibernate_second_level_cache_requests_total{region=...,result="hit"|"miss"} (requiere hibernate.generate_statistics=true).
+ *
+ * Sin caché de consultas: las listas de categorías ya están en los catálogos de Spring (CacheConfig) y los rangos
+ * del índice en memoria se leen justo cuando cambió la tabla, así que nada la aprovecharía, y con ella activa
+ * cada escritura pagaría el mantenimiento de las marcas de tiempo.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String REGION_DEPORTE = "deporte";
+    public static final String REGION_CATEGORIA = "categoria";
+    public static final String REGION_DEPORTE_CATEGORIAS = "deporte.categorias";
+
+    // Máximo de entradas por región
+    private static final Map<String, OptionalLong> REGIONES = new LinkedHashMap<>();
+
+    static {
+        REGIONES.put(REGION_DEPORTE, OptionalLong.of(1_000));
+        REGIONES.put(REGION_CATEGORIA, OptionalLong.of(10_000));
+        REGIONES.put(REGION_DEPORTE_CATEGORIAS, OptionalLong.of(1_000));
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-segundo-nivel"), getClass().getClassLoader());
+        REGIONES.forEach((region, maximo) -> {
+            if (cacheManager.getCache(region) == null) {
+                CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+                configuracion.setMaximumSize(maximo);
+                cacheManager.createCache(region, configuracion);
+            }
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer segundoNivelCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Todas las regiones existen de antemano; si una entidad nombra otra región es un error de configuración
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.escuelaFutbol.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ajustes del ObjectMapper de Spring Boot (cualquier bean Module se registra solo).
+ * Blackbird reemplaza la reflexión de Jackson por accesos generados con LambdaMetafactory para leer
+ * y escribir propiedades, lo que acelera la serialización de listas largas de entidades y DTOs.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
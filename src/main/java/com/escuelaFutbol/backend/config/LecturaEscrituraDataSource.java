@@ -0,0 +1,59 @@
+package com.escuelaFutbol.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Elige la base para cada conexión: las transacciones de solo lectura van a la réplica mientras esté al día,
+ * todo lo demás (escrituras y lecturas fuera de una transacción) va a la primaria.
+ * Solo se usa si hay una réplica configurada (ver ReplicaLecturaConfig); envuelto en un
+ * LazyConnectionDataSourceProxy, así la decisión se toma cuando la transacción ya se marcó como de solo lectura.
+ */
+public class LecturaEscrituraDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARIA = "primaria";
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARIA_FORZADA = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaAlDia;
+
+    public LecturaEscrituraDataSource(DataSource primaria, DataSource replica, BooleanSupplier replicaAlDia) {
+        this.replicaAlDia = replicaAlDia;
+        setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Ejecuta una lectura contra la primaria aunque sea de solo lectura, para lo que no tolera ver datos
+     * atrasados. Tiene que envolver la llamada que abre la transacción: una vez tomada la conexión ya no cambia.
+     * Sin réplica configurada no hace nada más que ejecutarla.
+     */
+    public static <T> T enPrimaria(Supplier<T> lectura) {
+        Boolean anterior = PRIMARIA_FORZADA.get();
+        PRIMARIA_FORZADA.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIA_FORZADA.remove();
+            } else {
+                PRIMARIA_FORZADA.set(anterior);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PRIMARIA_FORZADA.get() == null
+                && replicaAlDia.getAsBoolean();
+        return replica ? REPLICA : PRIMARIA;
+    }
+}
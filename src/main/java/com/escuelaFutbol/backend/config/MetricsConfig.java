@@ -0,0 +1,45 @@
+package com.escuelaFutbol.backend.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Métricas de la API expuestas en /actuator/prometheus.
+ * Además de las etiquetas estándar de http.server.requests (método, uri, status...), cada petición lleva
+ * la etiqueta "handler" con el método del controlador que la atendió (por ejemplo JugadorController.getJugadorById),
+ * así los histogramas de latencia se pueden agrupar por método de controlador.
+ * Los histogramas, percentiles y el resto de métricas (repositorios, Hibernate, Hikari) se configuran
+ * en application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String ETIQUETA_HANDLER = "handler";
+    private static final KeyValue HANDLER_NINGUNO = KeyValue.of(ETIQUETA_HANDLER, "none");
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    // El atributo lo deja Spring MVC al resolver el handler; las peticiones que no llegan a un controlador quedan como "none"
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() != null
+                && context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo) {
+            return KeyValue.of(ETIQUETA_HANDLER, metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+        }
+        return HANDLER_NINGUNO;
+    }
+}
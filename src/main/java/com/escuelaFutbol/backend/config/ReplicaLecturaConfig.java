@@ -0,0 +1,175 @@
+package com.escuelaFutbol.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Réplica de solo lectura opcional. Se activa con app.datasource.replica.url: las transacciones de solo lectura
+ * (@Transactional(readOnly = true) y los métodos de consulta de los repositorios) van a la réplica y el resto
+ * a la primaria (ver LecturaEscrituraDataSource). Flyway migra siempre la primaria.
+ *
+ * El retraso de la réplica se mide con la tabla cambios: cada revisión nueva de la primaria se anota con el momento
+ * en que se vio, y el retraso es cuánto hace que se vio la más vieja que la réplica todavía no tiene. Si pasa de
+ * app.datasource.replica.lag-maximo, o la réplica no responde, las lecturas vuelven a la primaria hasta que se ponga al día.
+ * Funciona con cualquier tipo de replicación y no marca retraso cuando la primaria simplemente no recibe escrituras.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.url")
+public class ReplicaLecturaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        // Una escritura que llegue a la réplica por error falla en vez de quedar en la base equivocada
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("primariaDataSource") DataSource primaria,
+                                         @Qualifier("replicaDataSource") DataSource replica,
+                                         @Value("${app.datasource.replica.lag-maximo}") Duration lagMaximo,
+                                         MeterRegistry meterRegistry) {
+        MonitorReplica monitor = new MonitorReplica(new JdbcTemplate(primaria), new JdbcTemplate(replica), lagMaximo);
+        Gauge.builder("app.datasource.replica.retraso", monitor, MonitorReplica::retrasoSegundos)
+                .description("Retraso de la réplica de lectura (NaN si no responde)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 MonitorReplica monitorReplica) {
+        return new LazyConnectionDataSourceProxy(
+                new LecturaEscrituraDataSource(primaria, replica, monitorReplica::alDia));
+    }
+
+    /**
+     * Por defecto Hibernate retiene la conexión hasta cerrar la sesión, que con open-in-view dura toda la petición:
+     * una escritura después de una lectura de solo lectura seguiría en la conexión de la réplica.
+     * Liberándola al terminar cada transacción, cada una elige su base.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexionPorTransaccionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Compara periódicamente la última revisión de la primaria con la de la réplica.
+     */
+    public static final class MonitorReplica {
+
+        private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+        private static final String ULTIMA_REVISION = "SELECT coalesce(max(revision), 0) FROM cambios";
+
+        private final JdbcTemplate primaria;
+        private final JdbcTemplate replica;
+        private final long lagMaximoNanos;
+
+        // Revisiones de la primaria que la réplica no tenía al medir, con el momento en que se vieron (nanoTime)
+        private final Deque<long[]> pendientes = new ArrayDeque<>();
+        private boolean medida;
+        private volatile boolean alDia;
+        private volatile double retrasoSegundos = Double.NaN;
+
+        MonitorReplica(JdbcTemplate primaria, JdbcTemplate replica, Duration lagMaximo) {
+            this.primaria = primaria;
+            this.replica = replica;
+            this.lagMaximoNanos = lagMaximo.toNanos();
+        }
+
+        boolean alDia() {
+            return alDia;
+        }
+
+        double retrasoSegundos() {
+            return retrasoSegundos;
+        }
+
+        // Hasta la primera medición las lecturas van a la primaria. Con fixedDelay nunca corren dos a la vez
+        @Scheduled(fixedDelayString = "${app.datasource.replica.chequeo}")
+        void medir() {
+            long ahora = System.nanoTime();
+            long retraso;
+            try {
+                // Primero la réplica: si la primaria avanza en el medio, a lo sumo se sobreestima el retraso
+                long enReplica = replica.queryForObject(ULTIMA_REVISION, Long.class);
+                long enPrimaria = primaria.queryForObject(ULTIMA_REVISION, Long.class);
+                if (pendientes.isEmpty() || pendientes.peekLast()[0] < enPrimaria) {
+                    pendientes.addLast(new long[]{enPrimaria, ahora});
+                }
+                while (!pendientes.isEmpty() && pendientes.peekFirst()[0] <= enReplica) {
+                    pendientes.removeFirst();
+                }
+                retraso = pendientes.isEmpty() ? 0 : ahora - pendientes.peekFirst()[1];
+            } catch (DataAccessException e) {
+                pendientes.clear();
+                retrasoSegundos = Double.NaN;
+                actualizar(false, "no responde: " + e.getMessage());
+                return;
+            }
+            retrasoSegundos = retraso / 1e9;
+            actualizar(retraso <= lagMaximoNanos, String.format("retraso de %.1f s", retrasoSegundos));
+        }
+
+        private void actualizar(boolean ahoraAlDia, String detalle) {
+            if (!medida || ahoraAlDia != alDia) {
+                if (ahoraAlDia) {
+                    log.info("Réplica de lectura al día ({}): las lecturas vuelven a la réplica", detalle);
+                } else {
+                    log.warn("Réplica de lectura {}: las lecturas van a la primaria", detalle);
+                }
+            }
+            medida = true;
+            alDia = ahoraAlDia;
+        }
+    }
+}
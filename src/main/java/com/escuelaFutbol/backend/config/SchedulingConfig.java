@@ -0,0 +1,12 @@
+package com.escuelaFutbol.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled), como la recategorización periódica de jugadores.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.escuelaFutbol.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registro de SQL opcional y por muestreo, en reemplazo de spring.jpa.show-sql.
+ * Solo se activa si app.sql.log.sample-rate es mayor que 0: en ese caso se escribe en el logger
+ * "com.escuelaFutbol.backend.sql" esa fracción de las sentencias (por ejemplo 0.01 = una de cada cien).
+ * Con el valor por defecto (0) no se registra ningún inspector y Hibernate no paga ningún costo extra.
+ */
+@Configuration
+@ConditionalOnExpression("${app.sql.log.sample-rate:0} > 0")
+public class SqlLogConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMuestreoCustomizer(@Value("${app.sql.log.sample-rate}") double sampleRate) {
+        StatementInspector inspector = new SqlMuestreoInspector(sampleRate);
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /**
+     * Inspector compartido por todas las sesiones; no modifica la sentencia, solo la registra a veces.
+     */
+    static final class SqlMuestreoInspector implements StatementInspector {
+
+        private static final Logger log = LoggerFactory.getLogger("com.escuelaFutbol.backend.sql");
+
+        private final double sampleRate;
+
+        SqlMuestreoInspector(double sampleRate) {
+            this.sampleRate = Math.min(sampleRate, 1.0);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.info("{}", sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.escuelaFutbol.backend.controller;
+
+import com.escuelaFutbol.backend.dto.RecategorizacionResultado;
+import com.escuelaFutbol.backend.service.RecategorizacionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final RecategorizacionService recategorizacionService;
+
+    public AdminController(RecategorizacionService recategorizacionService) {
+        this.recategorizacionService = recategorizacionService;
+    }
+
+    /**
+     * Recalcula ahora la categoría de todos los jugadores según su edad actual.
+     * POST /api/admin/recategorizar
+     *
+     * @return ResponseEntity con el número de jugadores movidos y la duración por deporte, y HttpStatus.OK.
+     */
+    @PostMapping("/recategorizar")
+    public ResponseEntity<RecategorizacionResultado> recategorizar() {
+        return ResponseEntity.ok(recategorizacionService.recategorizar());
+    }
+}
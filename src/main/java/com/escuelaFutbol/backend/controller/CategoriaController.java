@@ -1,11 +1,15 @@
 package com.escuelaFutbol.backend.controller;
 
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.ReasignacionResultado;
 import com.escuelaFutbol.backend.entity.Categoria;
 import com.escuelaFutbol.backend.service.CategoriaService;
+import com.escuelaFutbol.backend.service.ListadosCatalogoService;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,22 +18,35 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final ListadosCatalogoService listadosCatalogoService;
 
-    public CategoriaController(CategoriaService categoriaService) {
+    public CategoriaController(CategoriaService categoriaService, ListadosCatalogoService listadosCatalogoService) {
         this.categoriaService = categoriaService;
+        this.listadosCatalogoService = listadosCatalogoService;
     }
 
+    // Por defecto cada categoría trae su lista de "jugadores", como siempre (O(jugadores), 400 pasado
+    // app.catalogo.maximo-jugadores); con conteos=true, solo totalJugadores, que es lo que deben pedir las pantallas
     @GetMapping
-    public ResponseEntity<List<Categoria>> getAllCategorias() {
-        List<Categoria> categorias = categoriaService.findAll();
-        return ResponseEntity.ok(categorias);
+    public ResponseEntity<List<CategoriaDto>> getAllCategorias(
+            @RequestParam(defaultValue = "false") boolean conteos,
+            WebRequest request) {
+        return conteos
+                ? conETag(categoriaService.findAll(true), request)
+                : conETag(listadosCatalogoService.categorias(), request);
     }
 
+    // Con If-None-Match vigente responde 304 consultando solo la versión, sin cargar la categoría
     @GetMapping("/{id}")
-    public ResponseEntity<Categoria> getCategoriaById(@PathVariable Long id) {
+    public ResponseEntity<Categoria> getCategoriaById(@PathVariable Long id, WebRequest request) {
+        Long version = categoriaService.findVersionById(id)
+                                       .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
+        if (request.checkNotModified(ETags.deVersion(version))) {
+            return null;
+        }
         Categoria categoria = categoriaService.findById(id)
                                              .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
-        return ResponseEntity.ok(categoria);
+        return ResponseEntity.ok().eTag(ETags.deVersion(categoria.getVersion())).body(categoria);
     }
 
     @PostMapping
@@ -55,9 +72,46 @@ public class CategoriaController {
         return ResponseEntity.noContent().build();
     }
 
+    // Mueve en bloque los jugadores de la categoría a la que les corresponde por edad (o a destinoId)
+    // y, con eliminar=true, borra la categoría en la misma transacción
+    @PostMapping("/{id}/reasignar")
+    public ResponseEntity<ReasignacionResultado> reasignarJugadores(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long destinoId,
+            @RequestParam(defaultValue = "false") boolean eliminar) {
+        return ResponseEntity.ok(categoriaService.reasignarJugadores(id, destinoId, eliminar));
+    }
+
     @GetMapping("/by-deporte/{deporteId}")
-    public ResponseEntity<List<Categoria>> getCategoriasByDeporte(@PathVariable Long deporteId) {
-        List<Categoria> categorias = categoriaService.findByDeporteId(deporteId);
-        return ResponseEntity.ok(categorias);
+    public ResponseEntity<List<CategoriaDto>> getCategoriasByDeporte(
+            @PathVariable Long deporteId,
+            @RequestParam(defaultValue = "false") boolean conteos,
+            WebRequest request) {
+        return conteos
+                ? conETag(categoriaService.findByDeporteId(deporteId, true), request)
+                : conETag(listadosCatalogoService.categoriasPorDeporte(deporteId), request);
+    }
+
+    // ETag de la colección a partir de la versión y el conteo de cada categoría
+    private static ResponseEntity<List<CategoriaDto>> conETag(List<CategoriaDto> categorias, WebRequest request) {
+        String etag = ETags.deLista(categorias, CategoriaController::camposETag);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sin serializar la lista
+        }
+        return ResponseEntity.ok().eTag(etag).body(categorias);
+    }
+
+    // Igual, pero los jugadores se cargan solo si hay que responder 200
+    private static ResponseEntity<List<CategoriaDto>> conETag(ListadosCatalogoService.Listado<List<CategoriaDto>> listado,
+                                                              WebRequest request) {
+        String etag = ETags.deValores(listado.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(listado.armar());
+    }
+
+    private static Long[] camposETag(CategoriaDto categoria) {
+        return new Long[]{categoria.id(), categoria.version(), categoria.totalJugadores()};
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.escuelaFutbol.backend.controller;
 
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.ReasignacionResultado;
 import com.escuelaFutbol.backend.entity.Deporte;
 import com.escuelaFutbol.backend.service.DeporteService;
+import com.escuelaFutbol.backend.service.ListadosCatalogoService;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException; // Importa tu clase de excepción
 import org.springframework.http.HttpStatus; // Para códigos de estado HTTP
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,39 +18,69 @@ import java.util.List;
 public class DeporteController {
 
     private final DeporteService deporteService;
+    private final ListadosCatalogoService listadosCatalogoService;
 
     // Inyección de dependencias a través del constructor, es la forma recomendada por Spring
-    public DeporteController(DeporteService deporteService) {
+    public DeporteController(DeporteService deporteService, ListadosCatalogoService listadosCatalogoService) {
         this.deporteService = deporteService;
+        this.listadosCatalogoService = listadosCatalogoService;
     }
 
     /**
      * Obtiene una lista de todos los deportes registrados.
-     * GET /api/deportes
+     * GET /api/deportes[?conteos=true]
      *
-     * @return ResponseEntity con una lista de objetos Deporte y el estado HTTP 200 OK.
+     * Por defecto cada deporte trae sus listas de hijos, como siempre: "categorias" (cada una con sus "jugadores")
+     * y "jugadores" con los IDs de los jugadores del deporte. Se arman con un número fijo de consultas, pero el tamaño
+     * de la respuesta crece con el total de jugadores (O(jugadores)); si pasaría de app.catalogo.maximo-jugadores
+     * responde 400. Las pantallas deben usar conteos=true, que sale entero de la caché.
+     * Responde con un ETag de la colección, que cubre también a los hijos; si coincide con If-None-Match devuelve 304
+     * sin cuerpo y sin leer jugadores (ver ListadosCatalogoService.Listado).
+     * @param conteos Si es true, cada deporte incluye el número de categorías y jugadores en lugar de las listas completas.
+     * @return ResponseEntity con una lista de DeporteDto y el estado HTTP 200 OK, o 304 Not Modified.
      */
     @GetMapping
-    public ResponseEntity<List<Deporte>> getAllDeportes() {
-        List<Deporte> deportes = deporteService.findAll();
-        return ResponseEntity.ok(deportes); // Retorna 200 OK con la lista de deportes
+    public ResponseEntity<List<DeporteDto>> getAllDeportes(@RequestParam(defaultValue = "false") boolean conteos,
+                                                           WebRequest request) {
+        if (conteos) {
+            List<DeporteDto> deportes = deporteService.findAll(true);
+            String etag = ETags.deLista(deportes, DeporteController::camposETag);
+            if (request.checkNotModified(etag)) {
+                return null; // Spring responde 304 Not Modified sin serializar nada
+            }
+            return ResponseEntity.ok().eTag(etag).body(deportes); // Retorna 200 OK con la lista de deportes
+        }
+        ListadosCatalogoService.Listado<List<DeporteDto>> listado = listadosCatalogoService.deportes();
+        String etag = ETags.deValores(listado.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(listado.armar());
     }
 
     /**
      * Obtiene un deporte específico por su ID.
      * GET /api/deportes/{id}
+     * Trae las mismas listas de hijos que el listado (con el mismo máximo de jugadores); por eso el ETag es el
+     * del listado y no solo la versión del deporte, que no cambia cuando cambia uno de sus jugadores.
      *
      * @param id El ID del deporte a buscar, extraído de la URL.
-     * @return ResponseEntity con el objeto Deporte encontrado y el estado HTTP 200 OK,
+     * @return ResponseEntity con el DeporteDto encontrado y el estado HTTP 200 OK,
+     * 304 Not Modified si el ETag enviado en If-None-Match sigue vigente,
+     * 400 Bad Request si el deporte tiene más jugadores de los que se incluyen,
      * o un estado HTTP 404 Not Found si el deporte no existe.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Deporte> getDeporteById(@PathVariable Long id) {
+    public ResponseEntity<DeporteDto> getDeporteById(@PathVariable Long id, WebRequest request) {
         // Usa orElseThrow para lanzar ResourceNotFoundException si el deporte no se encuentra.
         // La anotación @ResponseStatus en ResourceNotFoundException se encargará del 404.
-        Deporte deporte = deporteService.findById(id)
+        ListadosCatalogoService.Listado<DeporteDto> listado = listadosCatalogoService.deporte(id)
                                         .orElseThrow(() -> new ResourceNotFoundException("Deporte no encontrado con ID: " + id));
-        return ResponseEntity.ok(deporte); // Retorna 200 OK con el deporte encontrado
+        String etag = ETags.deValores(listado.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(listado.armar()); // Retorna 200 OK con el deporte encontrado
     }
 
     /**
@@ -121,4 +155,28 @@ public class DeporteController {
             // return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Pasa todos los jugadores de un deporte a otro, con la categoría del destino que corresponde a su edad.
+     * POST /api/deportes/{id}/reasignar?destinoId={destinoId}[&eliminar=true]
+     *
+     * @param id El ID del deporte de origen.
+     * @param destinoId El ID del deporte destino.
+     * @param eliminar Si es true, elimina también el deporte de origen y sus categorías (todo o nada).
+     * @return ResponseEntity con el número de jugadores movidos y HttpStatus.OK,
+     * HttpStatus.NOT_FOUND si algún deporte no existe,
+     * o HttpStatus.CONFLICT si se pidió eliminar y hay jugadores sin categoría en el destino.
+     */
+    @PostMapping("/{id}/reasignar")
+    public ResponseEntity<ReasignacionResultado> reasignarJugadores(
+            @PathVariable Long id,
+            @RequestParam Long destinoId,
+            @RequestParam(defaultValue = "false") boolean eliminar) {
+        return ResponseEntity.ok(deporteService.reasignarJugadores(id, destinoId, eliminar));
+    }
+
+    // Lo que afecta a la respuesta con conteos: versión y conteos del deporte
+    private static Long[] camposETag(DeporteDto deporte) {
+        return new Long[]{deporte.id(), deporte.version(), deporte.totalCategorias(), deporte.totalJugadores()};
+    }
+}
@@ -0,0 +1,64 @@
+package com.escuelaFutbol.backend.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Construcción de ETags a partir de las columnas @Version.
+ * Un recurso individual usa su versión tal cual (ETag fuerte); una colección usa un hash de 64 bits de las versiones
+ * (y de los conteos, si los trae) de todos sus elementos, así cualquier alta, baja o cambio produce otro ETag.
+ * Los de colección son débiles (W/"..."): Tomcat no comprime con gzip una respuesta con ETag fuerte, y las listas
+ * son justamente las respuestas grandes. checkNotModified compara If-None-Match en forma débil, así que el 304 no cambia.
+ *
+ * Lo que cuesta un 304 depende de lo que haya que leer para calcular el ETag: con los catálogos en caché
+ * (listados con conteos=true) no hay ninguna consulta; los listados que traen jugadores usan la versión de
+ * ListadosCatalogoService.Listado, que suma una sola consulta por la clave primaria de cambios y no lee jugadores.
+ * Solo una respuesta 200 paga el armado completo.
+ */
+final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() { }
+
+    /**
+     * ETag de un recurso individual.
+     * @param version Versión actual del recurso.
+     */
+    static String deVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag de una colección.
+     * @param items Elementos en el orden en que se devuelven.
+     * @param campos Valores de cada elemento que afectan a la respuesta (ID, versión, conteos); null se admite.
+     */
+    static <T> String deLista(List<T> items, Function<T, Long[]> campos) {
+        long hash = mezclar(FNV_OFFSET, items.size());
+        for (T item : items) {
+            for (Long valor : campos.apply(item)) {
+                hash = mezclar(hash, valor != null ? valor : -1L);
+            }
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * ETag de una colección descrita por una serie de valores, sin tener los elementos a mano.
+     * @param valores Valores que cambian siempre que cambia la respuesta (ver ListadosCatalogoService.Listado).
+     */
+    static String deValores(List<Long> valores) {
+        return deLista(valores, valor -> new Long[]{valor});
+    }
+
+    // FNV-1a sobre los 8 bytes del valor
+    private static long mezclar(long hash, long valor) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (valor >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,29 @@
+package com.escuelaFutbol.backend.controller;
+
+import com.escuelaFutbol.backend.dto.EstadisticasDto;
+import com.escuelaFutbol.backend.service.EstadisticasService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/estadisticas")
+public class EstadisticasController {
+
+    private final EstadisticasService estadisticasService;
+
+    public EstadisticasController(EstadisticasService estadisticasService) {
+        this.estadisticasService = estadisticasService;
+    }
+
+    /**
+     * Obtiene las estadísticas del club: jugadores por deporte, categoría, año de nacimiento y rango de edad.
+     * GET /api/estadisticas
+     * Se sirven desde contadores en memoria, sin recorrer la tabla de jugadores.
+     *
+     * @return ResponseEntity con las estadísticas y HttpStatus.OK.
+     */
+    @GetMapping
+    public ResponseEntity<EstadisticasDto> getEstadisticas() {
+        return ResponseEntity.ok(estadisticasService.obtener());
+    }
+}
@@ -0,0 +1,37 @@
+package com.escuelaFutbol.backend.controller;
+
+import com.escuelaFutbol.backend.service.EventosCambios;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/eventos")
+public class EventoController {
+
+    private final EventosCambios eventosCambios;
+
+    public EventoController(EventosCambios eventosCambios) {
+        this.eventosCambios = eventosCambios;
+    }
+
+    /**
+     * Canal de eventos (Server-Sent Events) con los cambios de deportes, categorías y jugadores
+     * a medida que se confirman, para no tener que consultar GET /api/jugadores cada pocos segundos.
+     * GET /api/eventos/stream
+     * Eventos: "revision" al conectar ({revision}), "cambio" por cada cambio ({entidad, id, operacion, revision})
+     * y "resync" cuando un lote fue demasiado grande para detallarlo ({entidad, revision}).
+     * El id de cada evento es su revisión.
+     *
+     * @return ResponseEntity con el canal abierto y HttpStatus.OK.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no") // que un nginx delante no acumule los eventos
+                .body(eventosCambios.suscribir());
+    }
+}
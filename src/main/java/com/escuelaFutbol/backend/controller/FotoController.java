@@ -0,0 +1,73 @@
+package com.escuelaFutbol.backend.controller;
+
+import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import com.escuelaFutbol.backend.service.FotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/fotos")
+public class FotoController {
+
+    // Atributos de Tomcat para enviar un archivo con sendfile (del archivo al socket sin pasar por la JVM)
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    // El nombre del archivo depende de su contenido, así que el navegador puede guardarlo para siempre
+    private static final CacheControl CACHE_INMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final FotoService fotoService;
+
+    public FotoController(FotoService fotoService) {
+        this.fotoService = fotoService;
+    }
+
+    /**
+     * Sirve una foto o miniatura de jugador.
+     * GET /api/fotos/{archivo}
+     * Las peticiones completas se envían con sendfile cuando Tomcat lo soporta; las que traen Range
+     * las resuelve Spring y responden 206 con el rango pedido.
+     * @param archivo Nombre del archivo, tal como aparece en la fotoUrl del jugador.
+     * @return ResponseEntity con la imagen y HttpStatus.OK, HttpStatus.NOT_MODIFIED si el cliente ya la tiene,
+     * o HttpStatus.NOT_FOUND si el nombre no es válido o el archivo no existe.
+     */
+    @GetMapping("/{archivo}")
+    public ResponseEntity<Resource> getFoto(@PathVariable String archivo, WebRequest webRequest,
+                                            HttpServletRequest request) throws IOException {
+        Path ruta = fotoService.buscarArchivo(archivo)
+                .orElseThrow(() -> new ResourceNotFoundException("Foto no encontrada: " + archivo));
+        String etag = "\"" + archivo + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // Spring ya dejó la respuesta en 304 Not Modified
+        }
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .cacheControl(CACHE_INMUTABLE)
+                .eTag(etag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(archivo.endsWith(".png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG);
+
+        if ("GET".equals(request.getMethod()) && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            long tamano = Files.size(ruta);
+            request.setAttribute(SENDFILE_ARCHIVO, ruta.toString());
+            request.setAttribute(SENDFILE_INICIO, 0L);
+            request.setAttribute(SENDFILE_FIN, tamano);
+            return respuesta.contentLength(tamano).build(); // Tomcat escribe el cuerpo al cerrar la respuesta
+        }
+        return respuesta.body(new FileSystemResource(ruta));
+    }
+}
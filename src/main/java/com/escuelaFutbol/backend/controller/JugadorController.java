@@ -1,48 +1,213 @@
 package com.escuelaFutbol.backend.controller;
 
+import com.escuelaFutbol.backend.dto.CursorPage;
+import com.escuelaFutbol.backend.dto.ImportacionJugadoresResultado;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.dto.JugadorLoteItem;
+import com.escuelaFutbol.backend.dto.JugadorLoteResultado;
+import com.escuelaFutbol.backend.dto.JugadoresPorIds;
+import com.escuelaFutbol.backend.dto.SlicePage;
 import com.escuelaFutbol.backend.entity.Jugador;
+import com.escuelaFutbol.backend.service.FotoService;
+import com.escuelaFutbol.backend.service.ImportacionJugadoresService;
 import com.escuelaFutbol.backend.service.JugadorService;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException; // ¡Asegúrate de que esta clase exista!
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus; // Para los códigos de estado HTTP
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController // Indica que esta clase es un controlador REST
 @RequestMapping("/api/jugadores") // Define la ruta base para todas las operaciones en este controlador
 public class JugadorController {
 
+    private static final int TAMANO_PAGINA_STREAM = 200;
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+    private static final int FILAS_POR_FLUSH_EXPORTACION = 500;
+    private static final int TAMANO_MAXIMO_BUSQUEDA = 100;
+
     private final JugadorService jugadorService;
+    private final ObjectMapper objectMapper;
+    private final FotoService fotoService;
+    private final ImportacionJugadoresService importacionJugadoresService;
 
     // Inyección de dependencias a través del constructor (recomendado por Spring)
-    public JugadorController(JugadorService jugadorService) {
+    public JugadorController(JugadorService jugadorService, ObjectMapper objectMapper, FotoService fotoService,
+                             ImportacionJugadoresService importacionJugadoresService) {
         this.jugadorService = jugadorService;
+        this.objectMapper = objectMapper;
+        this.fotoService = fotoService;
+        this.importacionJugadoresService = importacionJugadoresService;
+    }
+
+    /**
+     * Obtiene todos los jugadores como un arreglo JSON transmitido en streaming.
+     * GET /api/jugadores[?cursor={cursor}]
+     * Recorre la tabla por páginas (keyset sobre el ID) y escribe cada página en cuanto llega,
+     * por lo que la memoria usada no depende del número de jugadores.
+     * Cada jugador sale como vista plana (JugadorDto), con el ID y nombre de su categoría y deporte.
+     * @param cursor (Opcional) Cursor opaco a partir del cual continuar.
+     * @return ResponseEntity con el cuerpo en streaming y HttpStatus.OK.
+     */
+    @GetMapping(params = {"!limit", "!ids"})
+    public ResponseEntity<StreamingResponseBody> getAllJugadores(@RequestParam(required = false) String cursor) {
+        Long desdeId = CursorPage.decodeCursor(cursor);
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writerFor(JugadorDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                Long ultimoId = desdeId;
+                List<JugadorDto> pagina;
+                do {
+                    pagina = jugadorService.findPagina(ultimoId, TAMANO_PAGINA_STREAM);
+                    for (JugadorDto jugador : pagina) {
+                        writer.writeValue(generator, jugador);
+                    }
+                    generator.flush(); // Envía la página al cliente antes de pedir la siguiente
+                    if (!pagina.isEmpty()) {
+                        ultimoId = pagina.get(pagina.size() - 1).id();
+                    }
+                } while (pagina.size() == TAMANO_PAGINA_STREAM);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Obtiene una página de jugadores usando paginación por keyset.
+     * GET /api/jugadores?limit={limit}[&cursor={cursor}]
+     * Igual que el listado completo, los jugadores salen como JugadorDto.
+     * @param limit Número máximo de jugadores por página (entre 1 y 500).
+     * @param cursor (Opcional) Cursor devuelto en la página anterior.
+     * @return ResponseEntity con la página y el cursor de la siguiente, y HttpStatus.OK.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<JugadorDto>> getPaginaJugadores(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+        List<JugadorDto> jugadores = jugadorService.findPagina(CursorPage.decodeCursor(cursor), limit);
+        // Si la página vino llena puede haber más jugadores: el cursor apunta al último entregado
+        String nextCursor = jugadores.size() == limit
+                ? CursorPage.encodeCursor(jugadores.get(jugadores.size() - 1).id())
+                : null;
+        return ResponseEntity.ok(new CursorPage<>(jugadores, nextCursor)); // Retorna 200 OK con la página
+    }
+
+    /**
+     * Obtiene varios jugadores por ID en una sola consulta (por ejemplo, los de una planilla de partido).
+     * GET /api/jugadores?ids={id1},{id2},...
+     * @param ids IDs de los jugadores (como máximo 1000).
+     * @return ResponseEntity con los jugadores en el orden pedido y los IDs que no existen, y HttpStatus.OK.
+     */
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<JugadoresPorIds> getJugadoresByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(jugadorService.findAllByIds(ids));
+    }
+
+    /**
+     * Igual que GET /api/jugadores?ids=..., para listas de IDs que no caben cómodamente en la URL.
+     * POST /api/jugadores/por-ids
+     * @param ids Arreglo JSON con los IDs de los jugadores (como máximo 1000).
+     * @return ResponseEntity con los jugadores en el orden pedido y los IDs que no existen, y HttpStatus.OK.
+     */
+    @PostMapping("/por-ids")
+    public ResponseEntity<JugadoresPorIds> postJugadoresByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(jugadorService.findAllByIds(ids));
     }
 
     /**
-     * Obtiene una lista de todos los jugadores.
-     * GET /api/jugadores
-     * @return ResponseEntity con una lista de jugadores y HttpStatus.OK.
+     * Busca jugadores por nombre, apellido o documento de identidad (sin distinguir acentos).
+     * GET /api/jugadores/search?q={texto}[&page={page}&size={size}]
+     * @param q Texto a buscar (al menos 3 caracteres).
+     * @param page Número de página, empezando en 0.
+     * @param size Tamaño de página (entre 1 y 100).
+     * @return ResponseEntity con la página de resultados ordenada por relevancia y HttpStatus.OK.
      */
-    @GetMapping
-    public ResponseEntity<List<Jugador>> getAllJugadores() {
-        List<Jugador> jugadores = jugadorService.findAll();
-        return ResponseEntity.ok(jugadores); // Retorna 200 OK con la lista
+    @GetMapping("/search")
+    public ResponseEntity<SlicePage<JugadorDto>> searchJugadores(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > TAMANO_MAXIMO_BUSQUEDA) {
+            throw new IllegalArgumentException("La página debe ser >= 0 y el tamaño debe estar entre 1 y " + TAMANO_MAXIMO_BUSQUEDA + ".");
+        }
+        Slice<JugadorDto> resultados = jugadorService.buscar(q, page, size);
+        return ResponseEntity.ok(new SlicePage<>(resultados.getContent(), page, size, resultados.hasNext()));
+    }
+
+    /**
+     * Exporta todos los jugadores en formato NDJSON (un objeto JSON por línea).
+     * GET /api/jugadores/export
+     * Las filas se leen de la base de datos con un cursor y se escriben en cuanto llegan,
+     * así que la memoria usada es constante sin importar cuántos jugadores haya.
+     * @return ResponseEntity con el cuerpo en streaming (application/x-ndjson) y HttpStatus.OK.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJugadores() {
+        StreamingResponseBody body = out -> {
+            // Separador "\n" entre valores raíz: cada jugador queda en su propia línea
+            ObjectWriter writer = objectMapper.writerFor(JugadorDto.class)
+                    .withRootValueSeparator("\n")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                long[] escritos = {0};
+                long total = jugadorService.exportar(jugador -> {
+                    try {
+                        writer.writeValue(generator, jugador);
+                        if (++escritos[0] % FILAS_POR_FLUSH_EXPORTACION == 0) {
+                            generator.flush(); // Envía al cliente cada bloque de filas
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (total > 0) {
+                    generator.writeRaw('\n'); // Termina la última línea
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
      * Obtiene un jugador por su ID.
      * GET /api/jugadores/{id}
      * @param id El ID del jugador a buscar.
-     * @return ResponseEntity con el jugador encontrado y HttpStatus.OK, o HttpStatus.NOT_FOUND si no existe.
+     * El ETag es la versión del jugador: si coincide con If-None-Match se responde 304 después de consultar
+     * solo la columna version, sin cargar la entidad ni serializarla.
+     * @return ResponseEntity con el jugador encontrado y HttpStatus.OK, HttpStatus.NOT_MODIFIED si el cliente
+     * ya tiene la versión actual, o HttpStatus.NOT_FOUND si no existe.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Jugador> getJugadorById(@PathVariable Long id) {
+    public ResponseEntity<Jugador> getJugadorById(@PathVariable Long id, WebRequest request) {
         // Usa orElseThrow para lanzar ResourceNotFoundException si el jugador no se encuentra
+        Long version = jugadorService.findVersionById(id)
+                                     .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
+        if (request.checkNotModified(ETags.deVersion(version))) {
+            return null; // Spring ya dejó la respuesta en 304 Not Modified
+        }
         Jugador jugador = jugadorService.findById(id)
                                         .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
-        return ResponseEntity.ok(jugador); // Retorna 200 OK con el jugador
+        // El ETag sale de la entidad cargada por si cambió entre las dos consultas
+        return ResponseEntity.ok().eTag(ETags.deVersion(jugador.getVersion())).body(jugador); // Retorna 200 OK con el jugador
     }
 
     /**
@@ -70,6 +235,41 @@ public class JugadorController {
         }
     }
 
+    /**
+     * Registra varios jugadores en una sola petición.
+     * POST /api/jugadores/batch[?deporteId={deporteId}]
+     *
+     * @param jugadores Arreglo de jugadores; cada uno puede indicar su propio deporteId.
+     * @param deporteId (Opcional) Deporte por defecto para los jugadores que no indican uno.
+     * @return ResponseEntity con un resultado por fila (CREADO con su ID, o ERROR con el motivo) y HttpStatus.OK.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<JugadorLoteResultado>> createJugadoresBatch(
+            @RequestBody List<JugadorLoteItem> jugadores,
+            @RequestParam(required = false) Long deporteId) {
+        List<JugadorLoteResultado> resultados = jugadorService.saveAll(jugadores, deporteId);
+        return ResponseEntity.ok(resultados); // Retorna 200 OK con el resultado de cada fila
+    }
+
+    /**
+     * Importa jugadores desde un archivo CSV con cabecera.
+     * POST /api/jugadores/import[?deporteId={deporteId}&separador={separador}] (Content-Type: text/csv)
+     * El cuerpo se procesa en streaming y se registra por bloques; un bloque registrado no se deshace
+     * aunque fallen filas posteriores.
+     *
+     * @param csv Cuerpo de la petición.
+     * @param deporteId (Opcional) Deporte para las filas sin columna deporteId.
+     * @param separador (Opcional) Separador de columnas, por defecto ','.
+     * @return ResponseEntity con el resumen y las filas rechazadas, y HttpStatus.OK.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportacionJugadoresResultado> importJugadores(
+            InputStream csv,
+            @RequestParam(required = false) Long deporteId,
+            @RequestParam(defaultValue = ",") char separador) throws IOException {
+        return ResponseEntity.ok(importacionJugadoresService.importar(csv, separador, deporteId));
+    }
+
     /**
      * Actualiza un jugador existente por su ID.
      * PUT /api/jugadores/{id}?deporteId={nuevoDeporteId}
@@ -96,6 +296,41 @@ public class JugadorController {
         }
     }
 
+    /**
+     * Sube la foto de un jugador (JPEG o PNG) y genera sus miniaturas.
+     * POST /api/jugadores/{id}/foto (multipart/form-data, campo "archivo")
+     *
+     * @param id El ID del jugador.
+     * @param archivo La imagen.
+     * @return ResponseEntity con el jugador y su nueva fotoUrl, y HttpStatus.OK.
+     */
+    @PostMapping(value = "/{id}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Jugador> uploadFoto(@PathVariable Long id, @RequestParam("archivo") MultipartFile archivo) {
+        return ResponseEntity.ok(fotoService.guardarFoto(id, archivo));
+    }
+
+    /**
+     * Redirige a la foto de un jugador, opcionalmente en tamaño miniatura.
+     * GET /api/jugadores/{id}/foto[?tam={tamano}]
+     * Para listados conviene armar la URL de la miniatura directamente desde fotoUrl
+     * (/api/fotos/{hash}-{tamano}.jpg) y ahorrarse esta redirección.
+     *
+     * @param id El ID del jugador.
+     * @param tam (Opcional) Tamaño de miniatura (uno de app.fotos.miniaturas).
+     * @return ResponseEntity con HttpStatus.FOUND hacia la imagen, o HttpStatus.NOT_FOUND si el jugador no tiene foto.
+     */
+    @GetMapping("/{id}/foto")
+    public ResponseEntity<Void> getFoto(@PathVariable Long id, @RequestParam(required = false) Integer tam) {
+        Jugador jugador = jugadorService.findById(id)
+                                        .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
+        if (jugador.getFotoUrl() == null || jugador.getFotoUrl().isBlank()) {
+            throw new ResourceNotFoundException("El jugador con ID " + id + " no tiene foto.");
+        }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(fotoService.urlEnTamano(jugador.getFotoUrl(), tam)))
+                .build();
+    }
+
     /**
      * Elimina un jugador por su ID.
      * DELETE /api/jugadores/{id}
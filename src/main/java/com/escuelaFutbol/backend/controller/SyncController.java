@@ -0,0 +1,38 @@
+package com.escuelaFutbol.backend.controller;
+
+import com.escuelaFutbol.backend.dto.SyncRespuesta;
+import com.escuelaFutbol.backend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final int LIMITE_MAXIMO = 5000;
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Devuelve lo que cambió desde la última sincronización del cliente.
+     * GET /api/sync?since={revision}[&limit={limit}]
+     * La primera vez se pide con since=0 (descarga completa, en tandas de limit cambios).
+     *
+     * @param since Revisión devuelta por la sincronización anterior.
+     * @param limit Máximo de cambios a procesar (entre 1 y 5000).
+     * @return ResponseEntity con los deportes, categorías y jugadores guardados, los IDs eliminados
+     * y la nueva revisión, y HttpStatus.OK.
+     */
+    @GetMapping
+    public ResponseEntity<SyncRespuesta> sync(@RequestParam long since,
+                                              @RequestParam(defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO + ".");
+        }
+        return ResponseEntity.ok(syncService.cambiosDesde(since, limit));
+    }
+}
@@ -0,0 +1,46 @@
+package com.escuelaFutbol.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Vista de lectura de una categoría para los listados.
+ * Se construye con una expresión constructora JPQL, sin inicializar la colección LAZY de jugadores.
+ * Por defecto lleva la lista de jugadores, como la entidad; con conteos lleva solo el total.
+ *
+ * @param deporteId ID del deporte al que pertenece la categoría.
+ * @param version Versión de la categoría (la misma que usa el ETag).
+ * @param totalJugadores Número de jugadores de la categoría, o null si no se pidieron conteos.
+ * @param jugadores Jugadores de la categoría, o null si se pidieron conteos.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CategoriaDto(Long id,
+                           String nombre,
+                           Integer edadMinima,
+                           Integer edadMaxima,
+                           String descripcion,
+                           Long deporteId,
+                           Long version,
+                           Long totalJugadores,
+                           List<JugadorDto> jugadores) {
+
+    // Constructor usado por las consultas sin conteos
+    public CategoriaDto(Long id, String nombre, Integer edadMinima, Integer edadMaxima, String descripcion,
+                        Long deporteId, Long version) {
+        this(id, nombre, edadMinima, edadMaxima, descripcion, deporteId, version, null, null);
+    }
+
+    // Constructor usado por las consultas con conteos
+    public CategoriaDto(Long id, String nombre, Integer edadMinima, Integer edadMaxima, String descripcion,
+                        Long deporteId, Long version, Long totalJugadores) {
+        this(id, nombre, edadMinima, edadMaxima, descripcion, deporteId, version, totalJugadores, null);
+    }
+
+    /**
+     * Copia de la categoría con su lista de jugadores; el DTO original (que puede estar en la caché) no cambia.
+     */
+    public CategoriaDto conJugadores(List<JugadorDto> jugadores) {
+        return new CategoriaDto(id, nombre, edadMinima, edadMaxima, descripcion, deporteId, version, totalJugadores, jugadores);
+    }
+}
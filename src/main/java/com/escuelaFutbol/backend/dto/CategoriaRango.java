@@ -0,0 +1,13 @@
+package com.escuelaFutbol.backend.dto;
+
+/**
+ * Proyección ligera del rango de edades de una categoría.
+ * Se construye directamente desde JPQL (expresión constructora), sin cargar la entidad Categoria.
+ *
+ * @param categoriaId ID de la categoría.
+ * @param deporteId ID del deporte al que pertenece la categoría.
+ * @param edadMinima Edad mínima (inclusive).
+ * @param edadMaxima Edad máxima (inclusive).
+ */
+public record CategoriaRango(Long categoriaId, Long deporteId, Integer edadMinima, Integer edadMaxima) {
+}
@@ -0,0 +1,7 @@
+package com.escuelaFutbol.backend.dto;
+
+/**
+ * Número de jugadores de un deporte, una categoría y un año de nacimiento.
+ */
+public record ConteoJugadores(Long deporteId, Long categoriaId, Integer anioNacimiento, Long total) {
+}
@@ -0,0 +1,54 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de resultados para paginación por keyset (cursor).
+ * El cursor es opaco para el cliente: codifica el ID del último elemento entregado
+ * y se envía tal cual en la siguiente petición para continuar desde ese punto.
+ *
+ * @param items Elementos de la página, ordenados por ID ascendente.
+ * @param nextCursor Cursor para pedir la siguiente página, o null si no hay más resultados.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    private static final String PREFIJO = "id:";
+
+    /**
+     * Codifica el ID del último elemento de una página como cursor opaco.
+     * @param ultimoId ID del último elemento entregado.
+     * @return El cursor codificado en Base64 (URL-safe, sin relleno).
+     */
+    public static String encodeCursor(Long ultimoId) {
+        String valor = PREFIJO + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente.
+     * @param cursor El cursor opaco (puede ser null o vacío para empezar desde el principio).
+     * @return El ID a partir del cual continuar, o null si no se envió cursor.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String valor;
+        try {
+            valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+        if (!valor.startsWith(PREFIJO)) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        try {
+            return Long.parseLong(valor.substring(PREFIJO.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
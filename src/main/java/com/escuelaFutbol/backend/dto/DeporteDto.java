@@ -0,0 +1,47 @@
+package com.escuelaFutbol.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Vista de lectura de un deporte para los listados.
+ * Se construye con una expresión constructora JPQL, sin inicializar las colecciones LAZY de la entidad.
+ * Por defecto lleva las listas de hijos, como cuando se serializaba la entidad: las categorías con sus jugadores
+ * y los IDs de los jugadores del deporte (la entidad, con @JsonIdentityInfo, escribía como ID a los jugadores
+ * que ya habían salido dentro de su categoría). Con conteos, en lugar de las listas van los totales.
+ * Lo que no corresponde queda en null y no se serializa.
+ *
+ * @param version Versión del deporte (la misma que usa el ETag).
+ * @param totalCategorias Número de categorías del deporte, o null si no se pidieron conteos.
+ * @param totalJugadores Número de jugadores del deporte, o null si no se pidieron conteos.
+ * @param categorias Categorías del deporte con sus jugadores, o null si se pidieron conteos.
+ * @param jugadores IDs de los jugadores del deporte, o null si se pidieron conteos.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeporteDto(Long id,
+                         String nombre,
+                         String descripcion,
+                         Long version,
+                         Long totalCategorias,
+                         Long totalJugadores,
+                         List<CategoriaDto> categorias,
+                         List<Long> jugadores) {
+
+    // Constructor usado por la consulta sin conteos
+    public DeporteDto(Long id, String nombre, String descripcion, Long version) {
+        this(id, nombre, descripcion, version, null, null, null, null);
+    }
+
+    // Constructor usado por la consulta con conteos
+    public DeporteDto(Long id, String nombre, String descripcion, Long version, Long totalCategorias, Long totalJugadores) {
+        this(id, nombre, descripcion, version, totalCategorias, totalJugadores, null, null);
+    }
+
+    /**
+     * Copia del deporte con sus listas de hijos; el DTO original (que puede estar en la caché) no cambia.
+     */
+    public DeporteDto conListas(List<CategoriaDto> categorias, List<Long> jugadores) {
+        return new DeporteDto(id, nombre, descripcion, version, totalCategorias, totalJugadores, categorias, jugadores);
+    }
+}
@@ -0,0 +1,31 @@
+package com.escuelaFutbol.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estadísticas del club para el tablero.
+ *
+ * @param totalJugadores Número total de jugadores.
+ * @param porDeporte Jugadores por deporte.
+ * @param porCategoria Jugadores por categoría.
+ * @param porAnioNacimiento Jugadores por año de nacimiento.
+ * @param porRangoEdad Jugadores por rango de edad (edad que cumplen en el año en curso).
+ */
+public record EstadisticasDto(long totalJugadores,
+                              List<Conteo> porDeporte,
+                              List<Conteo> porCategoria,
+                              Map<Integer, Long> porAnioNacimiento,
+                              Map<String, Long> porRangoEdad) {
+
+    /**
+     * Número de jugadores de un deporte o de una categoría.
+     *
+     * @param deporteId Deporte de la categoría (solo en porCategoria).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Conteo(Long id, String nombre, Long deporteId, long total) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.escuelaFutbol.backend.dto;
+
+import com.escuelaFutbol.backend.entity.Cambio;
+
+/**
+ * Un cambio ya confirmado, tal como se envía por GET /api/eventos/stream.
+ * La revisión es la misma del registro de cambios, así que un cliente que perdió eventos
+ * puede ponerse al día con GET /api/sync?since={revision}.
+ */
+public record EventoCambio(Cambio.Entidad entidad, Long id, Cambio.Operacion operacion, long revision) {
+}
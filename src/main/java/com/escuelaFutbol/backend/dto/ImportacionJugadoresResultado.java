@@ -0,0 +1,17 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación de jugadores desde CSV.
+ *
+ * @param filas Filas de datos leídas (sin contar la cabecera).
+ * @param creados Jugadores registrados.
+ * @param rechazados Filas rechazadas.
+ * @param errores Detalle de las filas rechazadas (indice = fila de datos, empezando en 0); se reportan
+ *                como mucho las primeras MAXIMO_ERRORES_REPORTADOS, aunque rechazados las cuenta todas.
+ */
+public record ImportacionJugadoresResultado(long filas, long creados, long rechazados, List<JugadorLoteResultado> errores) {
+
+    public static final int MAXIMO_ERRORES_REPORTADOS = 1000;
+}
@@ -0,0 +1,24 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Vista plana de lectura de un jugador, con los datos de su categoría y deporte.
+ * Se construye con una expresión constructora JPQL: no es una entidad administrada,
+ * por lo que no ocupa el contexto de persistencia ni requiere cargas LAZY para serializarse.
+ * Tampoco lleva @JsonIdentityInfo, así que Jackson no registra cada objeto al escribir listas largas.
+ */
+public record JugadorDto(Long id,
+                         String nombre,
+                         String apellido,
+                         String documentoIdentidad,
+                         LocalDate fechaNacimiento,
+                         String telefonoContacto,
+                         String emailContacto,
+                         String fotoUrl,
+                         Long categoriaId,
+                         String categoriaNombre,
+                         Long deporteId,
+                         String deporteNombre,
+                         Long version) {
+}
@@ -0,0 +1,18 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de un jugador dentro de una petición de registro masivo.
+ *
+ * @param deporteId (Opcional) ID del deporte; si es null se usa el deporte indicado en la petición.
+ */
+public record JugadorLoteItem(Long deporteId,
+                              String nombre,
+                              String apellido,
+                              String documentoIdentidad,
+                              LocalDate fechaNacimiento,
+                              String telefonoContacto,
+                              String emailContacto,
+                              String fotoUrl) {
+}
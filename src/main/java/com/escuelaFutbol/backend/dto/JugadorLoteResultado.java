@@ -0,0 +1,26 @@
+package com.escuelaFutbol.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado del registro de una fila dentro de un lote de jugadores.
+ *
+ * @param indice Posición de la fila en la petición (empezando en 0).
+ * @param estado CREADO si el jugador se registró, ERROR si la fila fue rechazada.
+ * @param id ID asignado al jugador creado (solo si estado es CREADO).
+ * @param error Motivo del rechazo (solo si estado es ERROR).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JugadorLoteResultado(int indice, String estado, Long id, String error) {
+
+    public static final String CREADO = "CREADO";
+    public static final String ERROR = "ERROR";
+
+    public static JugadorLoteResultado creado(int indice, Long id) {
+        return new JugadorLoteResultado(indice, CREADO, id, null);
+    }
+
+    public static JugadorLoteResultado error(int indice, String error) {
+        return new JugadorLoteResultado(indice, ERROR, null, error);
+    }
+}
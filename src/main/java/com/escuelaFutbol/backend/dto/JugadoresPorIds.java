@@ -0,0 +1,12 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de la consulta de varios jugadores por ID.
+ *
+ * @param jugadores Jugadores encontrados, en el orden en que se pidieron sus IDs.
+ * @param noEncontrados IDs pedidos que no corresponden a ningún jugador, también en el orden pedido.
+ */
+public record JugadoresPorIds(List<JugadorDto> jugadores, List<Long> noEncontrados) {
+}
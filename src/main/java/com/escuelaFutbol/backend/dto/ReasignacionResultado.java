@@ -0,0 +1,11 @@
+package com.escuelaFutbol.backend.dto;
+
+/**
+ * Resultado de reasignar en bloque los jugadores de una categoría o de un deporte.
+ *
+ * @param movidos Jugadores que se movieron (filas actualizadas).
+ * @param sinCategoria Jugadores que se quedaron en el origen porque ninguna categoría destino corresponde a su edad.
+ * @param origenEliminado Si además se eliminó la categoría o el deporte de origen.
+ */
+public record ReasignacionResultado(long movidos, long sinCategoria, boolean origenEliminado) {
+}
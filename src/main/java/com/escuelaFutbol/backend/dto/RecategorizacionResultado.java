@@ -0,0 +1,23 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una recategorización de jugadores.
+ *
+ * @param totalMovidos Jugadores que cambiaron de categoría en total.
+ * @param duracionMs Duración total del proceso en milisegundos.
+ * @param particiones Detalle por deporte.
+ */
+public record RecategorizacionResultado(long totalMovidos, long duracionMs, List<Particion> particiones) {
+
+    /**
+     * Resultado de la recategorización de un deporte.
+     *
+     * @param deporteId ID del deporte procesado.
+     * @param movidos Jugadores del deporte que cambiaron de categoría.
+     * @param duracionMs Duración de la sentencia en milisegundos.
+     */
+    public record Particion(Long deporteId, int movidos, long duracionMs) {
+    }
+}
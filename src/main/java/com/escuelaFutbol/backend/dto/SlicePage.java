@@ -0,0 +1,14 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados numerada que no calcula el total de elementos (evita un COUNT(*) por petición).
+ *
+ * @param items Elementos de la página.
+ * @param page Número de página (empezando en 0).
+ * @param size Tamaño de página solicitado.
+ * @param hasNext true si existe al menos un elemento más después de esta página.
+ */
+public record SlicePage<T>(List<T> items, int page, int size, boolean hasNext) {
+}
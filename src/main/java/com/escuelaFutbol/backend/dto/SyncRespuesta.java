@@ -0,0 +1,26 @@
+package com.escuelaFutbol.backend.dto;
+
+import java.util.List;
+
+/**
+ * Cambios entre dos revisiones del registro de cambios.
+ * El cliente guarda revision y la envía como since en la próxima sincronización;
+ * si hayMas es true debe volver a pedir enseguida para traer el resto.
+ *
+ * @param revision Última revisión incluida en la respuesta (la nueva marca del cliente).
+ * @param hayMas true si quedaron cambios posteriores a revision sin incluir por el límite.
+ * @param deportes Deportes creados o modificados, con sus datos actuales.
+ * @param categorias Categorías creadas o modificadas, con sus datos actuales.
+ * @param jugadores Jugadores creados o modificados, con sus datos actuales.
+ * @param eliminados IDs de lo que se eliminó.
+ */
+public record SyncRespuesta(long revision,
+                            boolean hayMas,
+                            List<DeporteDto> deportes,
+                            List<CategoriaDto> categorias,
+                            List<JugadorDto> jugadores,
+                            Eliminados eliminados) {
+
+    public record Eliminados(List<Long> deportes, List<Long> categorias, List<Long> jugadores) {
+    }
+}
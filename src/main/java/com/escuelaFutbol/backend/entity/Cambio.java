@@ -0,0 +1,46 @@
+package com.escuelaFutbol.backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Una fila del registro de cambios (tabla cambios): qué entidad cambió y en qué revisión.
+ * Solo se lee desde Java; las filas las inserta CambioRepository.registrar con SQL nativo.
+ */
+@Entity
+@Immutable
+@Table(name = "cambios")
+public class Cambio {
+
+    public enum Entidad { DEPORTE, CATEGORIA, JUGADOR }
+
+    public enum Operacion { GUARDADO, ELIMINADO }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Entidad entidad;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Operacion operacion;
+
+    @Column(nullable = false)
+    private OffsetDateTime fecha;
+
+    protected Cambio() { }
+
+    public Long getRevision() { return revision; }
+    public Entidad getEntidad() { return entidad; }
+    public Long getEntidadId() { return entidadId; }
+    public Operacion getOperacion() { return operacion; }
+    public OffsetDateTime getFecha() { return fecha; }
+}
@@ -1,19 +1,28 @@
 package com.escuelaFutbol.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import com.escuelaFutbol.backend.config.HibernateCacheConfig;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import java.util.Objects;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonBackReference; // Volvemos a importar
 import com.fasterxml.jackson.annotation.JsonIdentityInfo; // Nueva importación
 import com.fasterxml.jackson.annotation.ObjectIdGenerators; // Nueva importación
 
 
 @Entity
-@Table(name = "categorias")
+@Table(name = "categorias",
+        uniqueConstraints = @UniqueConstraint(name = RestriccionesBd.UK_CATEGORIAS_DEPORTE_NOMBRE,
+                columnNames = {"deporte_id", "nombre"}))
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id") // <--- AÑADIR ESTO: Usa el ID de la Categoria para referenciarla
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_CATEGORIA)
 public class Categoria {
 
     @Id
@@ -32,8 +41,16 @@ public class Categoria {
     @Column(length = 255)
     private String descripcion;
 
+    // Bloqueo optimista y ETag de la categoría (se ignora si llega en el cuerpo de una petición)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "deporte_id", nullable = false)
+    @JoinColumn(name = "deporte_id", nullable = false,
+            foreignKey = @ForeignKey(name = RestriccionesBd.FK_CATEGORIAS_DEPORTE))
     @JsonBackReference("deporte-categorias") // <--- Volvemos a poner JsonBackReference aquí, pero ahora con un nombre
     private Deporte deporte;
 
@@ -78,6 +95,8 @@ public class Categoria {
     public void setEdadMaxima(Integer edadMaxima) { this.edadMaxima = edadMaxima; }
     public String getDescripcion() { return descripcion; }
     public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Deporte getDeporte() { return deporte; }
     public void setDeporte(Deporte deporte) { this.deporte = deporte; }
     public List<Jugador> getJugadores() { return jugadores; }
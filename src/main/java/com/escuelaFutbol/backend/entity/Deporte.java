@@ -1,31 +1,47 @@
 package com.escuelaFutbol.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import com.escuelaFutbol.backend.config.HibernateCacheConfig;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import java.util.List;
 import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo; // Nueva importación
 import com.fasterxml.jackson.annotation.ObjectIdGenerators; // Nueva importación
 
 
 @Entity
-@Table(name = "deportes")
+@Table(name = "deportes",
+        uniqueConstraints = @UniqueConstraint(name = RestriccionesBd.UK_DEPORTES_NOMBRE, columnNames = "nombre"))
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id") // <--- AÑADIR ESTO: Usa el ID del Deporte para referenciarlo
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_DEPORTE) // Dato de referencia: casi nunca cambia
 public class Deporte {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String nombre;
 
     @Column(length = 255)
     private String descripcion;
 
+    // Versión para bloqueo optimista; también se usa como ETag del recurso. La asigna Hibernate, no el cliente
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @OneToMany(mappedBy = "deporte", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_DEPORTE_CATEGORIAS)
     @JsonManagedReference("deporte-categorias") // Mantiene el nombre
     private List<Categoria> categorias;
 
@@ -48,6 +64,8 @@ public class Deporte {
     public void setNombre(String nombre) { this.nombre = nombre; }
     public String getDescripcion() { return descripcion; }
     public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public List<Categoria> getCategorias() { return categorias; }
     public void setCategorias(List<Categoria> categorias) { this.categorias = categorias; }
     public List<Jugador> getJugadores() { return jugadores; }
@@ -1,21 +1,29 @@
 package com.escuelaFutbol.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import java.time.LocalDate;
 import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo; // Nueva importación
 import com.fasterxml.jackson.annotation.ObjectIdGenerators; // Nueva importación
 
 @Entity
-@Table(name = "jugadores")
+@Table(name = "jugadores",
+        uniqueConstraints = @UniqueConstraint(name = RestriccionesBd.UK_JUGADORES_DOCUMENTO, columnNames = "documento_identidad"))
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id") // <--- AÑADIR ESTO: Usa el ID del Jugador para referenciarlo
 public class Jugador {
 
+    // Secuencia con asignación por bloques (optimizador pooled): Hibernate reserva 50 IDs por llamada
+    // y puede agrupar los INSERT en lotes JDBC, cosa que IDENTITY impide.
+    // La secuencia la crea (y ajusta en bases que usaban IDENTITY) la migración V1__esquema_inicial.sql.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jugadores_seq")
+    @SequenceGenerator(name = "jugadores_seq", sequenceName = "jugadores_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -24,7 +32,7 @@ public class Jugador {
     @Column(nullable = false, length = 100)
     private String apellido;
 
-    @Column(name = "documento_identidad", unique = true, length = 20)
+    @Column(name = "documento_identidad", length = 20)
     private String documentoIdentidad;
 
     @Column(name = "fecha_nacimiento", nullable = false)
@@ -39,13 +47,22 @@ public class Jugador {
     @Column(name = "foto_url", length = 255)
     private String fotoUrl;
 
+    // Sube con cada cambio, incluida la recategorización nativa, y sirve de ETag en GET /api/jugadores/{id}
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "categoria_id", nullable = false)
+    @JoinColumn(name = "categoria_id", nullable = false,
+            foreignKey = @ForeignKey(name = RestriccionesBd.FK_JUGADORES_CATEGORIA))
     @JsonBackReference("categoria-jugadores")
     private Categoria categoria;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "deporte_id", nullable = false)
+    @JoinColumn(name = "deporte_id", nullable = false,
+            foreignKey = @ForeignKey(name = RestriccionesBd.FK_JUGADORES_DEPORTE))
     @JsonBackReference("deporte-jugadores")
     private Deporte deporte;
 
@@ -84,6 +101,8 @@ public class Jugador {
     }
     public String getFotoUrl() { return fotoUrl; }
     public void setFotoUrl(String fotoUrl) { this.fotoUrl = fotoUrl; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Categoria getCategoria() { return categoria; }
     public void setCategoria(Categoria categoria) { this.categoria = categoria; }
     public Deporte getDeporte() { return deporte; }
@@ -1,14 +1,19 @@
 package com.escuelaFutbol.backend.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 @ControllerAdvice // Indica que esta clase manejará excepciones globalmente para todos los controladores
 public class GlobalExceptionHandler {
@@ -52,6 +57,66 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    // Mensajes para las violaciones de restricciones que no tradujo un servicio (por ejemplo, una carrera
+    // detectada recién al hacer commit). Las de unicidad son errores del cliente (400), como en los servicios;
+    // las de claves foráneas indican que otro registro depende del que se quiere modificar (409).
+    private static final Map<String, String> MENSAJES_RESTRICCIONES = Map.of(
+            RestriccionesBd.UK_DEPORTES_NOMBRE, "Ya existe un deporte con ese nombre.",
+            RestriccionesBd.UK_CATEGORIAS_DEPORTE_NOMBRE, "Ya existe una categoría con ese nombre para el deporte.",
+            RestriccionesBd.UK_JUGADORES_DOCUMENTO, "El documento de identidad ya está en uso.",
+            RestriccionesBd.FK_CATEGORIAS_DEPORTE, "El deporte tiene categorías asociadas o no existe.",
+            RestriccionesBd.FK_JUGADORES_CATEGORIA, "La categoría tiene jugadores asociados o no existe.",
+            RestriccionesBd.FK_JUGADORES_DEPORTE, "El deporte tiene jugadores asociados o no existe.");
+
+    // Maneja DataIntegrityViolationException (400 si se repite un valor único, 409 en el resto de los casos)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex, WebRequest request) {
+        String restriccion = RestriccionesBd.nombreRestriccion(ex);
+        HttpStatus status = restriccion != null && restriccion.startsWith("uk_") ? HttpStatus.BAD_REQUEST : HttpStatus.CONFLICT;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        // Map.of no admite get(null), por eso se busca con una clave vacía cuando no hay nombre de restricción
+        body.put("message", MENSAJES_RESTRICCIONES.getOrDefault(Objects.requireNonNullElse(restriccion, ""),
+                "La operación viola una restricción de integridad de los datos."));
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, status);
+    }
+
+    // Maneja MaxUploadSizeExceededException (413 cuando un archivo supera spring.servlet.multipart.max-file-size)
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Object> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        body.put("error", "Payload Too Large");
+        body.put("message", "El archivo supera el tamaño máximo permitido.");
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    // Maneja MethodArgumentTypeMismatchException (400 cuando un parámetro no tiene el tipo esperado, por ejemplo ids=1,a)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Object> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Valor inválido para el parámetro '" + ex.getName() + "': " + ex.getValue());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // El cliente ya cortó la conexión (por ejemplo, cerró el stream de eventos): no queda a quién responder,
+    // y el cuerpo JSON del catch-all no se puede escribir en una respuesta text/event-stream
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex) {
+    }
+
     // Puedes añadir más @ExceptionHandler para otros tipos de excepciones si es necesario
     // Por ejemplo, para un catch-all si no quieres que el cliente vea la página de error de Tomcat
     @ExceptionHandler(Exception.class)
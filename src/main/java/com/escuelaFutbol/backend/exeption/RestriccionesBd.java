@@ -0,0 +1,41 @@
+package com.escuelaFutbol.backend.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Nombres de las restricciones de la base de datos (declarados en las entidades) y utilidades para
+ * reconocer cuál se violó. Los servicios insertan directamente y dejan que la base de datos rechace
+ * los duplicados, en lugar de consultar antes con un SELECT (que además no evita la carrera entre dos peticiones).
+ */
+public final class RestriccionesBd {
+
+    public static final String UK_DEPORTES_NOMBRE = "uk_deportes_nombre";
+    public static final String UK_CATEGORIAS_DEPORTE_NOMBRE = "uk_categorias_deporte_nombre";
+    public static final String UK_JUGADORES_DOCUMENTO = "uk_jugadores_documento";
+    public static final String FK_CATEGORIAS_DEPORTE = "fk_categorias_deporte";
+    public static final String FK_JUGADORES_CATEGORIA = "fk_jugadores_categoria";
+    public static final String FK_JUGADORES_DEPORTE = "fk_jugadores_deporte";
+
+    private RestriccionesBd() { }
+
+    /**
+     * Obtiene el nombre de la restricción violada, en minúsculas.
+     * @return El nombre, o null si la excepción no trae esa información.
+     */
+    public static String nombreRestriccion(DataIntegrityViolationException ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion && violacion.getConstraintName() != null) {
+                return violacion.getConstraintName().toLowerCase();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si la excepción corresponde a la restricción dada.
+     */
+    public static boolean esViolacionDe(DataIntegrityViolationException ex, String restriccion) {
+        return restriccion.equals(nombreRestriccion(ex));
+    }
+}
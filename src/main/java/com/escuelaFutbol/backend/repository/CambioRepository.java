@@ -0,0 +1,40 @@
+package com.escuelaFutbol.backend.repository;
+
+import com.escuelaFutbol.backend.entity.Cambio;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CambioRepository extends JpaRepository<Cambio, Long> {
+
+    // Toma el bloqueo de asesoría (se libera solo al terminar la transacción) e inserta una fila por ID, todo en
+    // un solo viaje a la base. Con el bloqueo, quien obtiene una revisión mayor confirma después que el anterior.
+    @Query(value = "WITH bloqueo AS (SELECT pg_advisory_xact_lock(:clave)) " +
+                   "INSERT INTO cambios (entidad, entidad_id, operacion) " +
+                   "SELECT :entidad, id, :operacion FROM bloqueo, unnest(CAST(:ids AS bigint[])) AS id " +
+                   "RETURNING entidad_id AS entidadId, revision",
+           nativeQuery = true)
+    List<RevisionRegistrada> registrar(@Param("clave") long clave,
+                         @Param("entidad") String entidad,
+                         @Param("ids") Long[] ids,
+                         @Param("operacion") String operacion);
+
+    // Cambios posteriores a una revisión, en orden (usa la clave primaria)
+    List<Cambio> findByRevisionGreaterThanOrderByRevisionAsc(long revision, Limit limit);
+
+    @Query("SELECT coalesce(max(c.revision), 0) FROM Cambio c")
+    long findUltimaRevision();
+
+    /**
+     * Fila devuelta por registrar: la revisión que le tocó a cada ID.
+     */
+    interface RevisionRegistrada {
+        Long getEntidadId();
+        Long getRevision();
+    }
+}
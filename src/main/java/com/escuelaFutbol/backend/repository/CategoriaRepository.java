@@ -1,22 +1,55 @@
 // src/main/java/com/escuelaFutbol/backend/repository/CategoriaRepository.java
 package com.escuelaFutbol.backend.repository;
 
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.CategoriaRango;
 import com.escuelaFutbol.backend.entity.Categoria;
 import com.escuelaFutbol.backend.entity.Deporte; // Asegúrate de que esta importación exista
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; // Si la usas en otros métodos
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
-    // Método para buscar categorías por nombre y deporte (para unicidad)
-    Optional<Categoria> findByNombreAndDeporte(String nombre, Deporte deporte);
-
     // Método para buscar todas las categorías de un deporte específico
     List<Categoria> findByDeporte(Deporte deporte);
 
     // Método para contar categorías por deporte (ya sugerido, verifica que esté)
     long countByDeporte(Deporte deporte);
+
+    // Rangos de edad de todas las categorías, sin cargar entidades (usado por el índice en memoria)
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaRango(c.id, c.deporte.id, c.edadMinima, c.edadMaxima) FROM Categoria c")
+    List<CategoriaRango> findAllRangos();
+
+    // Listados de lectura como DTO: una sola consulta, sin inicializar colecciones LAZY
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaDto(c.id, c.nombre, c.edadMinima, c.edadMaxima, c.descripcion, c.deporte.id, c.version) " +
+           "FROM Categoria c ORDER BY c.id")
+    List<CategoriaDto> findAllDto();
+
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaDto(c.id, c.nombre, c.edadMinima, c.edadMaxima, c.descripcion, c.deporte.id, c.version, " +
+           "(SELECT COUNT(j) FROM Jugador j WHERE j.categoria = c)) " +
+           "FROM Categoria c ORDER BY c.id")
+    List<CategoriaDto> findAllDtoConConteos();
+
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaDto(c.id, c.nombre, c.edadMinima, c.edadMaxima, c.descripcion, c.deporte.id, c.version) " +
+           "FROM Categoria c WHERE c.id IN :ids ORDER BY c.id")
+    List<CategoriaDto> findDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaDto(c.id, c.nombre, c.edadMinima, c.edadMaxima, c.descripcion, c.deporte.id, c.version) " +
+           "FROM Categoria c WHERE c.deporte.id = :deporteId ORDER BY c.edadMinima, c.id")
+    List<CategoriaDto> findDtoByDeporteId(@Param("deporteId") Long deporteId);
+
+    @Query("SELECT new com.escuelaFutbol.backend.dto.CategoriaDto(c.id, c.nombre, c.edadMinima, c.edadMaxima, c.descripcion, c.deporte.id, c.version, " +
+           "(SELECT COUNT(j) FROM Jugador j WHERE j.categoria = c)) " +
+           "FROM Categoria c WHERE c.deporte.id = :deporteId ORDER BY c.edadMinima, c.id")
+    List<CategoriaDto> findDtoConConteosByDeporteId(@Param("deporteId") Long deporteId);
+
+    // Solo la versión, para responder 304 a un If-None-Match sin cargar la categoría
+    @Query("SELECT c.version FROM Categoria c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
\ No newline at end of file
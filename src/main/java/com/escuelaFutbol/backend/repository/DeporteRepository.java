@@ -1,20 +1,57 @@
 package com.escuelaFutbol.backend.repository;
 
+import com.escuelaFutbol.backend.dto.DeporteDto;
 import com.escuelaFutbol.backend.entity.Deporte;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // Importa esta anotación
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; // ¡Importa Optional para este método!
 
 @Repository // Marca esta interfaz como un componente de repositorio de Spring
 public interface DeporteRepository extends JpaRepository<Deporte, Long> {
 
     /**
-     * Busca un deporte por su nombre.
-     * Spring Data JPA generará automáticamente la implementación de este método.
-     * Se usa Optional para manejar el caso en que no se encuentre ningún deporte con el nombre dado.
-     * @param nombre El nombre del deporte a buscar.
-     * @return Un Optional que contiene el Deporte si es encontrado, o vacío si no.
+     * Lista todos los deportes como DTO, en una sola consulta y sin inicializar sus colecciones LAZY.
+     * @return Lista de DeporteDto sin conteos.
      */
-    Optional<Deporte> findByNombre(String nombre);
+    @Query("SELECT new com.escuelaFutbol.backend.dto.DeporteDto(d.id, d.nombre, d.descripcion, d.version) FROM Deporte d ORDER BY d.id")
+    List<DeporteDto> findAllDto();
+
+    /**
+     * Busca un deporte por su ID y lo devuelve como DTO, sin inicializar sus colecciones LAZY.
+     * @param id El ID del deporte.
+     * @return Un Optional con el DeporteDto, o vacío si no existe.
+     */
+    @Query("SELECT new com.escuelaFutbol.backend.dto.DeporteDto(d.id, d.nombre, d.descripcion, d.version) FROM Deporte d WHERE d.id = :id")
+    Optional<DeporteDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Busca varios deportes por ID y los devuelve como DTO (los que no existen simplemente no aparecen).
+     * @param ids IDs de los deportes.
+     * @return Lista de DeporteDto ordenada por ID.
+     */
+    @Query("SELECT new com.escuelaFutbol.backend.dto.DeporteDto(d.id, d.nombre, d.descripcion, d.version) FROM Deporte d WHERE d.id IN :ids ORDER BY d.id")
+    List<DeporteDto> findDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lista todos los deportes como DTO junto con el número de categorías y jugadores de cada uno.
+     * Los conteos se resuelven con subconsultas dentro de la misma sentencia.
+     * @return Lista de DeporteDto con conteos.
+     */
+    @Query("SELECT new com.escuelaFutbol.backend.dto.DeporteDto(d.id, d.nombre, d.descripcion, d.version, " +
+           "(SELECT COUNT(c) FROM Categoria c WHERE c.deporte = d), " +
+           "(SELECT COUNT(j) FROM Jugador j WHERE j.deporte = d)) " +
+           "FROM Deporte d ORDER BY d.id")
+    List<DeporteDto> findAllDtoConConteos();
+
+    /**
+     * Obtiene los IDs de todos los deportes, sin cargar las entidades.
+     * @return Lista de IDs ordenada.
+     */
+    @Query("SELECT d.id FROM Deporte d ORDER BY d.id")
+    List<Long> findAllIds();
 }
\ No newline at end of file
@@ -1,23 +1,138 @@
 // src/main/java/com/escuelaFutbol/backend/repository/JugadorRepository.java
 package com.escuelaFutbol.backend.repository;
 
+import com.escuelaFutbol.backend.dto.ConteoJugadores;
+import com.escuelaFutbol.backend.dto.JugadorDto;
 import com.escuelaFutbol.backend.entity.Jugador;
 import com.escuelaFutbol.backend.entity.Categoria; // Asegúrate de que esta importación exista
 import com.escuelaFutbol.backend.entity.Deporte;   // Asegúrate de que esta importación exista
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List; // Si la usas en otros métodos
 
 @Repository
-public interface JugadorRepository extends JpaRepository<Jugador, Long> {
-    // Método para buscar un jugador por su documento de identidad (asegurando unicidad)
-    Optional<Jugador> findByDocumentoIdentidad(String documentoIdentidad);
-
+public interface JugadorRepository extends JpaRepository<Jugador, Long>, JugadorRepositoryCustom {
     // Método para contar jugadores por categoría (ya sugerido, verifica que esté)
     long countByCategoria(Categoria categoria);
 
     // Método para contar jugadores por deporte (ya sugerido, verifica que esté)
     long countByDeporte(Deporte deporte);
+
+    // Página de jugadores por keyset sobre el ID (sin OFFSET): usa el índice de la PK y el costo no crece con la página.
+    // Proyección a JugadorDto con los JOIN a categoría y deporte: una sola consulta y ninguna entidad administrada
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.escuelaFutbol.backend.dto.JugadorDto(j.id, j.nombre, j.apellido, j.documentoIdentidad, " +
+           "j.fechaNacimiento, j.telefonoContacto, j.emailContacto, j.fotoUrl, c.id, c.nombre, d.id, d.nombre, j.version) " +
+           "FROM Jugador j JOIN j.categoria c JOIN j.deporte d WHERE j.id > :id ORDER BY j.id")
+    List<JugadorDto> findPaginaDto(@Param("id") Long id, Limit limit);
+
+    // Varios jugadores por ID como JugadorDto, con los mismos JOIN que la página (los IDs inexistentes no aparecen)
+    @Query("SELECT new com.escuelaFutbol.backend.dto.JugadorDto(j.id, j.nombre, j.apellido, j.documentoIdentidad, " +
+           "j.fechaNacimiento, j.telefonoContacto, j.emailContacto, j.fotoUrl, c.id, c.nombre, d.id, d.nombre, j.version) " +
+           "FROM Jugador j JOIN j.categoria c JOIN j.deporte d WHERE j.id IN :ids")
+    List<JugadorDto> findDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Los jugadores de varias categorías en una sola consulta, para armar las listas de hijos de los catálogos;
+    // el límite acota lo que se lee cuando las categorías tienen más jugadores de los que se pueden incluir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.escuelaFutbol.backend.dto.JugadorDto(j.id, j.nombre, j.apellido, j.documentoIdentidad, " +
+           "j.fechaNacimiento, j.telefonoContacto, j.emailContacto, j.fotoUrl, c.id, c.nombre, d.id, d.nombre, j.version) " +
+           "FROM Jugador j JOIN j.categoria c JOIN j.deporte d WHERE c.id IN :categoriaIds ORDER BY j.id")
+    List<JugadorDto> findDtoByCategoriaIdIn(@Param("categoriaIds") Collection<Long> categoriaIds, Limit limit);
+
+    // Solo la versión del jugador (un índice por clave primaria), para validar un ETag sin cargar la entidad
+    @Query("SELECT j.version FROM Jugador j WHERE j.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Documentos de identidad ya registrados dentro de un conjunto (una sola consulta IN para todo un lote)
+    @Query("SELECT j.documentoIdentidad FROM Jugador j WHERE j.documentoIdentidad IN :documentos")
+    List<String> findDocumentosExistentes(@Param("documentos") Collection<String> documentos);
+
+    // Recalcula en una sola sentencia la categoría de los jugadores de un deporte según su edad actual.
+    // Solo mueve a quienes ya no caben en su categoría actual (la misma regla que asignarCategoriaPorEdad), y el destino
+    // se elige con el mismo orden que CategoriaIndex si hay rangos solapados, así la próxima pasada no los vuelve a mover.
+    // Devuelve, con RETURNING, cada jugador movido con su categoría anterior y la nueva.
+    // La versión se incrementa a mano (Hibernate no interviene en SQL nativo) para que cambie el ETag del jugador.
+    @Query(value = "WITH destinos AS (SELECT j.id, j.categoria_id AS anterior, " +
+                   "(SELECT c.id FROM categorias c WHERE c.deporte_id = j.deporte_id " +
+                   "AND " + EDAD_JUGADOR + " BETWEEN c.edad_minima AND c.edad_maxima " + PRIMERA_CATEGORIA_POR_EDAD + ") AS nueva " +
+                   "FROM jugadores j WHERE j.deporte_id = :deporteId " +
+                   "AND NOT EXISTS (SELECT 1 FROM categorias actual WHERE actual.id = j.categoria_id " +
+                   "AND actual.deporte_id = j.deporte_id " +
+                   "AND " + EDAD_JUGADOR + " BETWEEN actual.edad_minima AND actual.edad_maxima)) " +
+                   "UPDATE jugadores j SET categoria_id = d.nueva, version = j.version + 1 " +
+                   "FROM destinos d WHERE j.id = d.id AND j.categoria_id = d.anterior AND d.nueva IS NOT NULL " +
+                   "RETURNING j.id AS jugadorId, d.anterior AS categoriaAnteriorId, j.categoria_id AS categoriaNuevaId",
+           nativeQuery = true)
+    List<CategoriaMovida> recategorizarPorDeporte(@Param("deporteId") Long deporteId);
+
+    // Conteo de jugadores agrupado por deporte, categoría y año de nacimiento (un solo recorrido de la tabla)
+    @Query("SELECT new com.escuelaFutbol.backend.dto.ConteoJugadores(j.deporte.id, j.categoria.id, " +
+           "extract(year from j.fechaNacimiento), count(j)) " +
+           "FROM Jugador j GROUP BY j.deporte.id, j.categoria.id, extract(year from j.fechaNacimiento)")
+    List<ConteoJugadores> contarPorDeporteCategoriaYAnio();
+
+    // Edad en años cumplidos del jugador j, igual que en asignarCategoriaPorEdad
+    String EDAD_JUGADOR = "date_part('year', age(CURRENT_DATE, j.fecha_nacimiento))";
+    // Si hay rangos de edad solapados gana el mismo que elige CategoriaIndex (edad mínima, edad máxima e ID más altos)
+    String PRIMERA_CATEGORIA_POR_EDAD = "ORDER BY c.edad_minima DESC, c.edad_maxima DESC, c.id DESC LIMIT 1";
+
+    // Saca a todos los jugadores de una categoría en una sola sentencia: cada uno pasa a la categoría de su deporte
+    // que corresponde a su edad (o solo a :destinoId, si se indica). Quien no cabe en ninguna se queda donde está.
+    @Query(value = "WITH destinos AS (SELECT j.id, j.categoria_id AS anterior, " +
+                   "(SELECT c.id FROM categorias c WHERE c.deporte_id = j.deporte_id AND c.id <> :origenId " +
+                   "AND (CAST(:destinoId AS bigint) IS NULL OR c.id = :destinoId) " +
+                   "AND " + EDAD_JUGADOR + " BETWEEN c.edad_minima AND c.edad_maxima " + PRIMERA_CATEGORIA_POR_EDAD + ") AS nueva " +
+                   "FROM jugadores j WHERE j.categoria_id = :origenId) " +
+                   "UPDATE jugadores j SET categoria_id = d.nueva, version = j.version + 1 " +
+                   "FROM destinos d WHERE j.id = d.id AND j.categoria_id = :origenId AND d.nueva IS NOT NULL " +
+                   "RETURNING j.id AS jugadorId, d.anterior AS categoriaAnteriorId, j.categoria_id AS categoriaNuevaId",
+           nativeQuery = true)
+    List<CategoriaMovida> reasignarCategoria(@Param("origenId") Long origenId, @Param("destinoId") Long destinoId);
+
+    // Pasa a todos los jugadores de un deporte a otro en una sola sentencia, con la categoría del deporte destino
+    // que corresponde a su edad. Quien no cabe en ninguna se queda en el deporte de origen.
+    @Query(value = "WITH destinos AS (SELECT j.id, j.categoria_id AS anterior, " +
+                   "(SELECT c.id FROM categorias c WHERE c.deporte_id = :destinoId " +
+                   "AND " + EDAD_JUGADOR + " BETWEEN c.edad_minima AND c.edad_maxima " + PRIMERA_CATEGORIA_POR_EDAD + ") AS nueva " +
+                   "FROM jugadores j WHERE j.deporte_id = :origenId) " +
+                   "UPDATE jugadores j SET deporte_id = :destinoId, categoria_id = d.nueva, version = j.version + 1 " +
+                   "FROM destinos d WHERE j.id = d.id AND j.deporte_id = :origenId AND d.nueva IS NOT NULL " +
+                   "RETURNING j.id AS jugadorId, d.anterior AS categoriaAnteriorId, j.categoria_id AS categoriaNuevaId",
+           nativeQuery = true)
+    List<CategoriaMovida> reasignarDeporte(@Param("origenId") Long origenId, @Param("destinoId") Long destinoId);
+
+    /**
+     * Fila devuelta por recategorizarPorDeporte y las reasignaciones: un jugador que cambió de categoría.
+     */
+    interface CategoriaMovida {
+        Long getJugadorId();
+        Long getCategoriaAnteriorId();
+        Long getCategoriaNuevaId();
+    }
+
+    // Búsqueda sin acentos por nombre, apellido y documento, apoyada en el índice de trigramas
+    // idx_jugadores_busqueda_trgm (ver db/migration/V3__busqueda_jugadores.sql). Coincide por subcadena (LIKE) o por similitud con
+    // alguna palabra del texto (<%, word_similarity); primero van los que empiezan por el texto buscado y luego los más parecidos.
+    // :patron es el texto con los comodines de LIKE escapados; :texto es el texto tal cual (al menos 3 caracteres: con menos
+    // no hay ningún trigrama completo y el índice no sirve). Solo devuelve los IDs: los datos salen de findDtoByIdIn.
+    @Query(value = "SELECT j.id FROM jugadores j " +
+                   "WHERE jugador_texto_busqueda(j.nombre, j.apellido, j.documento_identidad) LIKE '%' || f_unaccent(lower(:patron)) || '%' " +
+                   "OR f_unaccent(lower(:texto)) <% jugador_texto_busqueda(j.nombre, j.apellido, j.documento_identidad) " +
+                   "ORDER BY jugador_texto_busqueda(j.nombre, j.apellido, j.documento_identidad) LIKE f_unaccent(lower(:patron)) || '%' DESC, " +
+                   "word_similarity(f_unaccent(lower(:texto)), jugador_texto_busqueda(j.nombre, j.apellido, j.documento_identidad)) DESC, " +
+                   "j.id",
+           nativeQuery = true)
+    Slice<Long> buscarIds(@Param("texto") String texto, @Param("patron") String patron, Pageable pageable);
 }
\ No newline at end of file
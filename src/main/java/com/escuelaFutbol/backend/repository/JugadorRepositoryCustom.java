@@ -0,0 +1,18 @@
+package com.escuelaFutbol.backend.repository;
+
+import com.escuelaFutbol.backend.dto.JugadorDto;
+
+import java.util.stream.Stream;
+
+/**
+ * Métodos de JugadorRepository que necesitan configurar la consulta a mano (implementados en JugadorRepositoryImpl).
+ */
+public interface JugadorRepositoryCustom {
+
+    /**
+     * Recorre todos los jugadores ordenados por ID con un cursor de solo avance.
+     * Debe invocarse dentro de una transacción y el Stream debe cerrarse al terminar.
+     * @return Stream de JugadorDto leído por bloques del tamaño configurado en app.jugadores.export.fetch-size.
+     */
+    Stream<JugadorDto> streamAllDto();
+}
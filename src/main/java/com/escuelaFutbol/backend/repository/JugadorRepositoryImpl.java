@@ -0,0 +1,36 @@
+package com.escuelaFutbol.backend.repository;
+
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+public class JugadorRepositoryImpl implements JugadorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Filas que el driver JDBC trae por cada viaje a la base de datos durante la exportación
+    private final int exportFetchSize;
+
+    public JugadorRepositoryImpl(@Value("${app.jugadores.export.fetch-size:500}") int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Stream<JugadorDto> streamAllDto() {
+        // La proyección a DTO evita entidades administradas: nada se acumula en el contexto de persistencia.
+        // getResultStream usa un ScrollableResults de solo avance; con PostgreSQL el driver solo trae
+        // fetchSize filas a la vez si la conexión no está en autocommit (por eso se exige una transacción).
+        return entityManager.createQuery(
+                        "SELECT new com.escuelaFutbol.backend.dto.JugadorDto(j.id, j.nombre, j.apellido, j.documentoIdentidad, " +
+                        "j.fechaNacimiento, j.telefonoContacto, j.emailContacto, j.fotoUrl, c.id, c.nombre, d.id, d.nombre, j.version) " +
+                        "FROM Jugador j JOIN j.categoria c JOIN j.deporte d ORDER BY j.id", JugadorDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,164 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.config.LecturaEscrituraDataSource;
+import com.escuelaFutbol.backend.dto.CategoriaRango;
+import com.escuelaFutbol.backend.repository.CategoriaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice en memoria de los rangos de edad de las categorías, agrupado por deporte.
+ * Permite asignar la categoría de un jugador con una búsqueda binaria, sin consultar la base de datos.
+ *
+ * El índice es inmutable: cada reconstrucción crea una copia nueva y la publica de forma atómica
+ * (copy-on-write), por lo que las lecturas nunca se bloquean ni ven un estado a medias.
+ * Se reconstruye después del commit de cada escritura en CategoriaService.
+ * Nota: si se ejecutan varias instancias de la aplicación, cada una mantiene su propio índice.
+ */
+@Component
+public class CategoriaIndex {
+
+    // Valor devuelto cuando ninguna categoría cubre la edad buscada
+    public static final long SIN_CATEGORIA = -1L;
+
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Serializa las recargas. Es un ReentrantLock y no synchronized porque la recarga consulta la base:
+    // un hilo virtual bloqueado en JDBC dentro de synchronized queda fijado (pinned) a su hilo portador
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    // Mapa deporteId -> rangos ordenados; null hasta la primera carga
+    private volatile Map<Long, Rangos> rangosPorDeporte;
+
+    public CategoriaIndex(CategoriaRepository categoriaRepository, PlatformTransactionManager transactionManager) {
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // La recarga corre en su propia transacción de solo lectura, aunque se invoque desde otra transacción
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Busca la categoría de un deporte cuyo rango de edades contiene la edad dada.
+     * @param deporteId ID del deporte.
+     * @param edad Edad del jugador en años cumplidos.
+     * @return El ID de la categoría encontrada, o SIN_CATEGORIA si ninguna cubre esa edad.
+     */
+    public long buscarCategoriaId(Long deporteId, int edad) {
+        Map<Long, Rangos> indice = rangosPorDeporte;
+        if (indice == null) {
+            reconstruir();
+            indice = rangosPorDeporte;
+        }
+        Rangos rangos = indice.get(deporteId);
+        return rangos != null ? rangos.buscar(edad) : SIN_CATEGORIA;
+    }
+
+    /**
+     * Vuelve a cargar todos los rangos desde la base de datos y reemplaza el índice.
+     * Las recargas se ejecutan de a una para que dos recargas concurrentes no publiquen datos fuera de orden.
+     */
+    public void reconstruir() {
+        recarga.lock();
+        try {
+            // Corre justo después del commit que cambió las categorías: una réplica todavía no lo tendría
+            List<CategoriaRango> rangos = LecturaEscrituraDataSource.enPrimaria(
+                    () -> transactionTemplate.execute(status -> categoriaRepository.findAllRangos()));
+            reemplazar(rangos);
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    /**
+     * Programa la reconstrucción del índice para cuando la transacción actual haga commit.
+     * Si la transacción hace rollback el índice no cambia. Sin transacción activa reconstruye de inmediato.
+     */
+    public void reconstruirDespuesDelCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruir();
+                }
+            });
+        } else {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Construye un índice nuevo a partir de los rangos dados y lo publica de forma atómica.
+     * @param rangos Rangos de edad de todas las categorías.
+     */
+    public void reemplazar(List<CategoriaRango> rangos) {
+        Map<Long, List<CategoriaRango>> agrupados = new HashMap<>();
+        for (CategoriaRango rango : rangos) {
+            agrupados.computeIfAbsent(rango.deporteId(), k -> new ArrayList<>()).add(rango);
+        }
+        Map<Long, Rangos> nuevoIndice = new HashMap<>();
+        agrupados.forEach((deporteId, lista) -> nuevoIndice.put(deporteId, new Rangos(lista)));
+        this.rangosPorDeporte = Map.copyOf(nuevoIndice);
+    }
+
+    /**
+     * Rangos de un deporte ordenados por edad mínima, en arreglos primitivos paralelos.
+     */
+    private static final class Rangos {
+        private final int[] edadesMinimas;
+        private final int[] edadesMaximas;
+        private final long[] categoriaIds;
+
+        Rangos(List<CategoriaRango> lista) {
+            List<CategoriaRango> ordenados = new ArrayList<>(lista);
+            ordenados.sort(Comparator.comparing(CategoriaRango::edadMinima)
+                    .thenComparing(CategoriaRango::edadMaxima)
+                    .thenComparing(CategoriaRango::categoriaId));
+            int n = ordenados.size();
+            edadesMinimas = new int[n];
+            edadesMaximas = new int[n];
+            categoriaIds = new long[n];
+            for (int i = 0; i < n; i++) {
+                CategoriaRango rango = ordenados.get(i);
+                edadesMinimas[i] = rango.edadMinima();
+                edadesMaximas[i] = rango.edadMaxima();
+                categoriaIds[i] = rango.categoriaId();
+            }
+        }
+
+        long buscar(int edad) {
+            // Búsqueda binaria del último rango cuya edad mínima es <= edad
+            int bajo = 0;
+            int alto = edadesMinimas.length - 1;
+            int candidato = -1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (edadesMinimas[medio] <= edad) {
+                    candidato = medio;
+                    bajo = medio + 1;
+                } else {
+                    alto = medio - 1;
+                }
+            }
+            // Con rangos disjuntos basta el candidato; si se solapan se revisan los anteriores
+            for (int i = candidato; i >= 0; i--) {
+                if (edadesMaximas[i] >= edad) {
+                    return categoriaIds[i];
+                }
+            }
+            return SIN_CATEGORIA;
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package com.escuelaFutbol.backend.service;
 
+import com.escuelaFutbol.backend.config.CacheConfig;
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.ReasignacionResultado;
+import com.escuelaFutbol.backend.entity.Cambio;
 import com.escuelaFutbol.backend.entity.Categoria;
 import com.escuelaFutbol.backend.entity.Deporte;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import com.escuelaFutbol.backend.repository.CategoriaRepository;
 import com.escuelaFutbol.backend.repository.DeporteRepository;
 import com.escuelaFutbol.backend.repository.JugadorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,21 +30,41 @@ import java.util.Optional;
 @Service
 public class CategoriaService {
 
+    private static final String ROL_CATEGORIAS_DE_DEPORTE = Deporte.class.getName() + ".categorias";
+
     private final CategoriaRepository categoriaRepository;
     private final DeporteRepository deporteRepository;
     private final JugadorRepository jugadorRepository;
+    private final CategoriaIndex categoriaIndex;
+    private final CacheManager cacheManager;
+    private final ContadoresJugadores contadoresJugadores;
+    private final org.hibernate.Cache cacheSegundoNivel;
+    private final RegistroCambios registroCambios;
 
     public CategoriaService(CategoriaRepository categoriaRepository,
                             DeporteRepository deporteRepository,
-                            JugadorRepository jugadorRepository) {
+                            JugadorRepository jugadorRepository,
+                            CategoriaIndex categoriaIndex,
+                            CacheManager cacheManager,
+                            ContadoresJugadores contadoresJugadores,
+                            EntityManagerFactory entityManagerFactory,
+                            RegistroCambios registroCambios) {
         this.categoriaRepository = categoriaRepository;
         this.deporteRepository = deporteRepository;
         this.jugadorRepository = jugadorRepository;
+        this.categoriaIndex = categoriaIndex;
+        this.cacheManager = cacheManager;
+        this.contadoresJugadores = contadoresJugadores;
+        this.cacheSegundoNivel = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.registroCambios = registroCambios;
     }
 
-    @Transactional(readOnly = true)
-    public List<Categoria> findAll() {
-        return categoriaRepository.findAll();
+    // Las listas sin conteos se sirven desde la caché de catálogos; con conteos siempre van a la base de datos.
+    // Sin readOnly: lo que se guarda en la caché se lee de la primaria (ver CacheConfig)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS, condition = "!#conConteos")
+    @Transactional
+    public List<CategoriaDto> findAll(boolean conConteos) {
+        return conConteos ? categoriaRepository.findAllDtoConConteos() : categoriaRepository.findAllDto();
     }
 
     @Transactional(readOnly = true)
@@ -37,6 +72,15 @@ public class CategoriaService {
         return categoriaRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersionById(Long id) {
+        return categoriaRepository.findVersionById(id);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_POR_DEPORTE, key = "#deporteId")
+    })
     @Transactional
     public Categoria save(Categoria categoria, Long deporteId) {
         // 1. Buscar y asignar el Deporte PRIMERO
@@ -47,19 +91,33 @@ public class CategoriaService {
         // 2. Validar campos básicos de la categoría AHORA que el deporte está asignado
         categoria.validate();
 
-        // 3. Verificar si ya existe una categoría con el mismo nombre y deporte
-        if (categoriaRepository.findByNombreAndDeporte(categoria.getNombre(), deporte).isPresent()) {
-            throw new IllegalArgumentException("Ya existe una categoría con el nombre '" + categoria.getNombre() + "' para el deporte '" + deporte.getNombre() + "'.");
+        // 3. Guardar la categoría (un nombre repetido en el deporte lo rechaza uk_categorias_deporte_nombre)
+        //    y actualizar el índice de rangos de edad tras el commit
+        Categoria savedCategoria;
+        try {
+            savedCategoria = categoriaRepository.saveAndFlush(categoria);
+        } catch (DataIntegrityViolationException e) {
+            if (RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_CATEGORIAS_DEPORTE_NOMBRE)) {
+                throw new IllegalArgumentException("Ya existe una categoría con el nombre '" + categoria.getNombre() + "' para el deporte '" + deporte.getNombre() + "'.", e);
+            }
+            throw e;
         }
-
-        // 4. Guardar la categoría
-        return categoriaRepository.save(categoria);
+        evictColeccionCategorias(deporteId);
+        categoriaIndex.reconstruirDespuesDelCommit();
+        registroCambios.guardado(Cambio.Entidad.CATEGORIA, savedCategoria.getId());
+        return savedCategoria;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true)
     @Transactional
     public Categoria update(Long id, Categoria categoriaDetails, Long newDeporteId) {
         Categoria categoriaExistente = categoriaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
+        // La lista del deporte actual cambia siempre; la del nuevo deporte solo si se reasigna
+        evictCategoriasPorDeporte(categoriaExistente.getDeporte().getId());
+        if (newDeporteId != null) {
+            evictCategoriasPorDeporte(newDeporteId);
+        }
 
         categoriaExistente.setNombre(categoriaDetails.getNombre());
         categoriaExistente.setEdadMinima(categoriaDetails.getEdadMinima());
@@ -75,18 +133,29 @@ public class CategoriaService {
 
         categoriaExistente.validate();
 
-        Optional<Categoria> existingConflict = categoriaRepository.findByNombreAndDeporte(categoriaExistente.getNombre(), categoriaExistente.getDeporte());
-        if (existingConflict.isPresent() && !existingConflict.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Ya existe otra categoría con el nombre '" + categoriaExistente.getNombre() + "' para el deporte '" + categoriaExistente.getDeporte().getNombre() + "'.");
+        // El nombre del deporte se lee antes de guardar: tras un error de la base de datos la transacción
+        // queda abortada y ya no se podría cargar el deporte para armar el mensaje
+        String nombreDeporte = categoriaExistente.getDeporte().getNombre();
+        Categoria updatedCategoria;
+        try {
+            updatedCategoria = categoriaRepository.saveAndFlush(categoriaExistente);
+        } catch (DataIntegrityViolationException e) {
+            if (RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_CATEGORIAS_DEPORTE_NOMBRE)) {
+                throw new IllegalArgumentException("Ya existe otra categoría con el nombre '" + categoriaExistente.getNombre() + "' para el deporte '" + nombreDeporte + "'.", e);
+            }
+            throw e;
         }
-
-        return categoriaRepository.save(categoriaExistente);
+        categoriaIndex.reconstruirDespuesDelCommit();
+        registroCambios.guardado(Cambio.Entidad.CATEGORIA, id);
+        return updatedCategoria;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true)
     @Transactional
     public void deleteById(Long id) {
         Categoria categoria = categoriaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
+        evictCategoriasPorDeporte(categoria.getDeporte().getId());
 
         long jugadoresCount = jugadorRepository.countByCategoria(categoria);
         if (jugadoresCount > 0) {
@@ -94,14 +163,95 @@ public class CategoriaService {
                                              "' porque tiene " + jugadoresCount + " jugador(es) asociado(s). " +
                                              "Primero reasigne o elimine los jugadores.");
         }
+        eliminarSinJugadores(id);
+    }
+
+    /**
+     * Saca a todos los jugadores de una categoría con un solo UPDATE, sin cargarlos uno por uno.
+     * Cada jugador pasa a la categoría de su deporte que corresponde a su edad (la misma regla que al crearlo),
+     * o solo a la categoría destino si se indica; quien no cabe en ninguna se queda donde está.
+     * @param id ID de la categoría de origen.
+     * @param destinoId (Opcional) ID de la única categoría destino, del mismo deporte.
+     * @param eliminar Si es true, elimina además la categoría de origen en la misma transacción.
+     * @return Cuántos jugadores se movieron y cuántos no tenían categoría destino.
+     * @throws ResourceNotFoundException si alguna de las categorías no existe.
+     * @throws IllegalArgumentException si el destino es la misma categoría o pertenece a otro deporte.
+     * @throws IllegalStateException si se pidió eliminar y quedaron jugadores sin categoría destino (no se aplica nada).
+     */
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true, condition = "#eliminar")
+    @Transactional
+    public ReasignacionResultado reasignarJugadores(Long id, Long destinoId, boolean eliminar) {
+        Categoria categoria = categoriaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + id));
+        Long deporteId = categoria.getDeporte().getId();
+        if (destinoId != null) {
+            if (destinoId.equals(id)) {
+                throw new IllegalArgumentException("La categoría destino debe ser distinta de la de origen.");
+            }
+            Categoria destino = categoriaRepository.findById(destinoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con ID: " + destinoId));
+            if (!destino.getDeporte().getId().equals(deporteId)) {
+                throw new IllegalArgumentException("La categoría destino debe ser del mismo deporte. " +
+                                                   "Para cambiar de deporte use la reasignación del deporte.");
+            }
+        }
 
+        List<JugadorRepository.CategoriaMovida> movidos = jugadorRepository.reasignarCategoria(id, destinoId);
+        long sinCategoria = jugadorRepository.countByCategoria(categoria);
+        if (eliminar && sinCategoria > 0) {
+            throw new IllegalStateException("No se puede eliminar la categoría '" + categoria.getNombre() + "' porque " +
+                                            sinCategoria + " jugador(es) no tienen otra categoría que corresponda a su edad.");
+        }
+        contadoresJugadores.registrarReasignacion(deporteId, deporteId, movidos);
+        registroCambios.guardados(Cambio.Entidad.JUGADOR, movidos.stream().map(JugadorRepository.CategoriaMovida::getJugadorId).toList());
+        if (eliminar) {
+            evictCategoriasPorDeporte(deporteId);
+            eliminarSinJugadores(id);
+        }
+        return new ReasignacionResultado(movidos.size(), sinCategoria, eliminar);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_POR_DEPORTE, key = "#deporteId", condition = "!#conConteos")
+    @Transactional // Primaria, como findAll
+    public List<CategoriaDto> findByDeporteId(Long deporteId, boolean conConteos) {
+        if (!deporteRepository.existsById(deporteId)) {
+            throw new ResourceNotFoundException("Deporte no encontrado con ID: " + deporteId);
+        }
+        return conConteos
+                ? categoriaRepository.findDtoConConteosByDeporteId(deporteId)
+                : categoriaRepository.findDtoByDeporteId(deporteId);
+    }
+
+    // Borra una categoría que ya no tiene jugadores y actualiza el índice de rangos y los contadores tras el commit
+    private void eliminarSinJugadores(Long id) {
         categoriaRepository.deleteById(id);
+        categoriaIndex.reconstruirDespuesDelCommit();
+        contadoresJugadores.eliminarCategoria(id);
+        registroCambios.eliminado(Cambio.Entidad.CATEGORIA, id);
     }
 
-    @Transactional(readOnly = true)
-    public List<Categoria> findByDeporteId(Long deporteId) {
-        Deporte deporte = deporteRepository.findById(deporteId)
-            .orElseThrow(() -> new ResourceNotFoundException("Deporte no encontrado con ID: " + deporteId));
-        return categoriaRepository.findByDeporte(deporte);
+    // Quita de la caché la lista de categorías de un deporte (dentro de una transacción, se aplica tras el commit)
+    private void evictCategoriasPorDeporte(Long deporteId) {
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORIAS_POR_DEPORTE);
+        if (cache != null) {
+            cache.evict(deporteId);
+        }
+        evictColeccionCategorias(deporteId);
+    }
+
+    // Deporte.categorias es el lado inverso de la relación (mappedBy): guardar o borrar una Categoria no toca
+    // esa colección, así que Hibernate no invalida su copia en la caché de segundo nivel. Se invalida a mano
+    // después del commit, para que una lectura concurrente no vuelva a cargar la lista anterior al cambio.
+    private void evictColeccionCategorias(Long deporteId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheSegundoNivel.evictCollectionData(ROL_CATEGORIAS_DE_DEPORTE, deporteId);
+                }
+            });
+        } else {
+            cacheSegundoNivel.evictCollectionData(ROL_CATEGORIAS_DE_DEPORTE, deporteId);
+        }
     }
 }
\ No newline at end of file
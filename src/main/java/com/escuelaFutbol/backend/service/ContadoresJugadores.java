@@ -0,0 +1,176 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.ConteoJugadores;
+import com.escuelaFutbol.backend.entity.Jugador;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria de jugadores por deporte, por categoría y por año de nacimiento.
+ * Se cargan una sola vez al arrancar (un GROUP BY sobre jugadores) y a partir de ahí se mantienen
+ * de forma incremental desde las escrituras de JugadorService, CategoriaService, DeporteService y la recategorización,
+ * siempre después del commit. Así las estadísticas nunca necesitan un COUNT(*) sobre la tabla.
+ * Nota: si se ejecutan varias instancias de la aplicación, cada una solo ve sus propias escrituras
+ * hasta que se reinicia.
+ */
+@Component
+public class ContadoresJugadores {
+
+    private final JugadorRepository jugadorRepository;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<Long, LongAdder> porDeporte = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> porCategoria = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> porAnioNacimiento = new ConcurrentHashMap<>();
+
+    public ContadoresJugadores(JugadorRepository jugadorRepository) {
+        this.jugadorRepository = jugadorRepository;
+    }
+
+    // Se ejecuta antes de que el servidor web acepte peticiones, así ninguna escritura queda fuera del conteo inicial
+    @PostConstruct
+    void cargar() {
+        for (ConteoJugadores conteo : jugadorRepository.contarPorDeporteCategoriaYAnio()) {
+            long cantidad = conteo.total();
+            total.add(cantidad);
+            contador(porDeporte, conteo.deporteId()).add(cantidad);
+            contador(porCategoria, conteo.categoriaId()).add(cantidad);
+            contador(porAnioNacimiento, conteo.anioNacimiento()).add(cantidad);
+        }
+    }
+
+    /**
+     * Datos de un jugador que afectan a los contadores, capturados en un momento dado.
+     */
+    public record Registro(Long deporteId, Long categoriaId, int anioNacimiento) {
+
+        public static Registro de(Jugador jugador) {
+            // getId() sobre un proxy LAZY no dispara ninguna consulta
+            return new Registro(jugador.getDeporte().getId(), jugador.getCategoria().getId(),
+                    jugador.getFechaNacimiento().getYear());
+        }
+    }
+
+    /**
+     * Suma un jugador nuevo a los contadores cuando la transacción actual haga commit.
+     */
+    public void registrarAlta(Registro registro) {
+        despuesDelCommit(() -> sumar(registro, 1));
+    }
+
+    /**
+     * Resta un jugador eliminado de los contadores cuando la transacción actual haga commit.
+     */
+    public void registrarBaja(Registro registro) {
+        despuesDelCommit(() -> sumar(registro, -1));
+    }
+
+    /**
+     * Mueve un jugador editado entre contadores cuando la transacción actual haga commit.
+     */
+    public void registrarCambio(Registro anterior, Registro nuevo) {
+        if (anterior.equals(nuevo)) {
+            return;
+        }
+        despuesDelCommit(() -> {
+            sumar(anterior, -1);
+            sumar(nuevo, 1);
+        });
+    }
+
+    /**
+     * Mueve un jugador de una categoría a otra (por ejemplo, tras la recategorización por edad).
+     * Se aplica de inmediato: quien lo invoca ya confirmó el cambio.
+     */
+    public void moverCategoria(Long categoriaAnteriorId, Long categoriaNuevaId) {
+        contador(porCategoria, categoriaAnteriorId).decrement();
+        contador(porCategoria, categoriaNuevaId).increment();
+    }
+
+    /**
+     * Mueve jugadores reasignados en bloque entre categorías, y entre deportes si cambian de deporte,
+     * cuando la transacción actual haga commit.
+     */
+    public void registrarReasignacion(Long deporteAnteriorId, Long deporteNuevoId, List<JugadorRepository.CategoriaMovida> movidos) {
+        if (movidos.isEmpty()) {
+            return;
+        }
+        despuesDelCommit(() -> {
+            for (JugadorRepository.CategoriaMovida movido : movidos) {
+                moverCategoria(movido.getCategoriaAnteriorId(), movido.getCategoriaNuevaId());
+            }
+            if (!deporteAnteriorId.equals(deporteNuevoId)) {
+                contador(porDeporte, deporteAnteriorId).add(-movidos.size());
+                contador(porDeporte, deporteNuevoId).add(movidos.size());
+            }
+        });
+    }
+
+    /**
+     * Quita el contador de una categoría eliminada (solo se pueden eliminar categorías sin jugadores).
+     */
+    public void eliminarCategoria(Long categoriaId) {
+        despuesDelCommit(() -> porCategoria.remove(categoriaId));
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public Map<Long, Long> porDeporte() {
+        return instantanea(porDeporte);
+    }
+
+    public Map<Long, Long> porCategoria() {
+        return instantanea(porCategoria);
+    }
+
+    public Map<Integer, Long> porAnioNacimiento() {
+        return instantanea(porAnioNacimiento);
+    }
+
+    private void sumar(Registro registro, int delta) {
+        total.add(delta);
+        contador(porDeporte, registro.deporteId()).add(delta);
+        contador(porCategoria, registro.categoriaId()).add(delta);
+        contador(porAnioNacimiento, registro.anioNacimiento()).add(delta);
+    }
+
+    private static <K> LongAdder contador(Map<K, LongAdder> mapa, K clave) {
+        return mapa.computeIfAbsent(clave, k -> new LongAdder());
+    }
+
+    // Copia ordenada por clave, omitiendo los contadores que quedaron en cero
+    private static <K extends Comparable<K>> Map<K, Long> instantanea(Map<K, LongAdder> mapa) {
+        Map<K, Long> copia = new TreeMap<>();
+        mapa.forEach((clave, contador) -> {
+            long valor = contador.sum();
+            if (valor != 0) {
+                copia.put(clave, valor);
+            }
+        });
+        return copia;
+    }
+
+    private static void despuesDelCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.escuelaFutbol.backend.service;
 
+import com.escuelaFutbol.backend.config.CacheConfig;
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.ReasignacionResultado;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.entity.Categoria;
 import com.escuelaFutbol.backend.entity.Deporte;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import com.escuelaFutbol.backend.repository.CategoriaRepository; // Para validar si hay categorías asociadas
 import com.escuelaFutbol.backend.repository.DeporteRepository;
 import com.escuelaFutbol.backend.repository.JugadorRepository;   // Para validar si hay jugadores asociados
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Para el manejo de transacciones
 
@@ -18,57 +28,78 @@ public class DeporteService {
     private final DeporteRepository deporteRepository;
     private final CategoriaRepository categoriaRepository; // Inyectamos CategoriaRepository
     private final JugadorRepository jugadorRepository;     // Inyectamos JugadorRepository
+    private final RegistroCambios registroCambios;
+    private final CategoriaIndex categoriaIndex;
+    private final ContadoresJugadores contadoresJugadores;
 
     @Autowired // Spring se encarga de inyectar las dependencias
     public DeporteService(DeporteRepository deporteRepository,
                           CategoriaRepository categoriaRepository,
-                          JugadorRepository jugadorRepository) {
+                          JugadorRepository jugadorRepository,
+                          RegistroCambios registroCambios,
+                          CategoriaIndex categoriaIndex,
+                          ContadoresJugadores contadoresJugadores) {
         this.deporteRepository = deporteRepository;
         this.categoriaRepository = categoriaRepository;
         this.jugadorRepository = jugadorRepository;
+        this.registroCambios = registroCambios;
+        this.categoriaIndex = categoriaIndex;
+        this.contadoresJugadores = contadoresJugadores;
     }
 
     /**
      * Obtiene una lista de todos los deportes almacenados en la base de datos.
+     * Devuelve DTO construidos en una sola consulta, sin cargar categorías ni jugadores.
+     * La lista sin conteos se sirve desde la caché de catálogos; los conteos cambian con cada jugador y no se cachean.
      *
-     * @return Una lista de objetos Deporte.
+     * @param conConteos Si es true, incluye el número de categorías y jugadores de cada deporte.
+     * @return Una lista de DeporteDto.
      */
-    @Transactional(readOnly = true) // Optimización para operaciones de solo lectura
-    public List<Deporte> findAll() {
-        return deporteRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.DEPORTES, condition = "!#conConteos")
+    @Transactional // Sin readOnly: lo que se guarda en la caché se lee de la primaria (ver CacheConfig)
+    public List<DeporteDto> findAll(boolean conConteos) {
+        return conConteos ? deporteRepository.findAllDtoConConteos() : deporteRepository.findAllDto();
     }
 
     /**
      * Busca un deporte por su ID.
+     * El resultado se sirve desde la caché de catálogos (los IDs inexistentes no se cachean).
      *
      * @param id El ID del deporte a buscar.
-     * @return Un Optional que contiene el Deporte si es encontrado, o vacío si no.
+     * @return Un Optional que contiene el DeporteDto si es encontrado, o vacío si no.
      */
-    @Transactional(readOnly = true)
-    public Optional<Deporte> findById(Long id) {
-        return deporteRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.DEPORTE, unless = "#result == null")
+    @Transactional // Primaria, como findAll
+    public Optional<DeporteDto> findById(Long id) {
+        return deporteRepository.findDtoById(id);
     }
 
     /**
      * Guarda un nuevo deporte en la base de datos.
-     * Realiza validaciones de negocio para asegurar la unicidad del nombre.
+     * La unicidad del nombre la garantiza la restricción uk_deportes_nombre: se inserta directamente
+     * y, si la base de datos rechaza el duplicado, se informa con el mismo mensaje de siempre.
      *
      * @param deporte El objeto Deporte a guardar.
      * @return El Deporte guardado con su ID.
      * @throws IllegalArgumentException si el nombre del deporte ya existe o es inválido.
      */
+    @CacheEvict(cacheNames = CacheConfig.DEPORTES, allEntries = true)
     @Transactional // Esta operación modifica la base de datos
     public Deporte save(Deporte deporte) {
         // 1. Validar campos básicos usando el método validate() de la entidad
 
-        // 2. Verificar si ya existe un deporte con el mismo nombre (unicidad)
-        Optional<Deporte> existingDeporte = deporteRepository.findByNombre(deporte.getNombre());
-        if (existingDeporte.isPresent()) {
-            throw new IllegalArgumentException("Ya existe un deporte con el nombre: " + deporte.getNombre());
+        // 2. Guardar el deporte; un nombre repetido lo rechaza la restricción única (sin SELECT previo)
+        Deporte savedDeporte;
+        try {
+            savedDeporte = deporteRepository.saveAndFlush(deporte);
+        } catch (DataIntegrityViolationException e) {
+            if (RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_DEPORTES_NOMBRE)) {
+                throw new IllegalArgumentException("Ya existe un deporte con el nombre: " + deporte.getNombre(), e);
+            }
+            throw e;
         }
-
-        // 3. Guardar el deporte
-        return deporteRepository.save(deporte);
+        registroCambios.guardado(Cambio.Entidad.DEPORTE, savedDeporte.getId());
+        return savedDeporte;
     }
 
     /**
@@ -80,6 +111,10 @@ public class DeporteService {
      * @throws ResourceNotFoundException si el deporte no es encontrado.
      * @throws IllegalArgumentException si los datos del deporte son inválidos o el nombre ya existe (para otro deporte).
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPORTES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPORTE, key = "#id")
+    })
     @Transactional
     public Deporte update(Long id, Deporte deporteDetails) {
         Deporte deporteExistente = deporteRepository.findById(id)
@@ -92,14 +127,18 @@ public class DeporteService {
         // 2. Validar la entidad actualizada (esto validará que el nombre no sea nulo/vacío)
        // deporteExistente.validate();
 
-        // 3. Verificar si el nuevo nombre ya existe en otro deporte
-        Optional<Deporte> existingWithNewName = deporteRepository.findByNombre(deporteExistente.getNombre());
-        if (existingWithNewName.isPresent() && !existingWithNewName.get().getId().equals(id)) {
-            throw new IllegalArgumentException("El nombre '" + deporteExistente.getNombre() + "' ya está en uso por otro deporte.");
+        // 3. Guardar el deporte actualizado; si el nuevo nombre ya es de otro deporte lo rechaza la restricción única
+        Deporte updatedDeporte;
+        try {
+            updatedDeporte = deporteRepository.saveAndFlush(deporteExistente);
+        } catch (DataIntegrityViolationException e) {
+            if (RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_DEPORTES_NOMBRE)) {
+                throw new IllegalArgumentException("El nombre '" + deporteExistente.getNombre() + "' ya está en uso por otro deporte.", e);
+            }
+            throw e;
         }
-
-        // 4. Guardar el deporte actualizado
-        return deporteRepository.save(deporteExistente);
+        registroCambios.guardado(Cambio.Entidad.DEPORTE, id);
+        return updatedDeporte;
     }
 
     /**
@@ -110,6 +149,11 @@ public class DeporteService {
      * @throws ResourceNotFoundException si el deporte no es encontrado.
      * @throws IllegalStateException si el deporte tiene categorías o jugadores asociados.
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPORTES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DEPORTE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_POR_DEPORTE, key = "#id")
+    })
     @Transactional
     public void deleteById(Long id) {
         Deporte deporte = deporteRepository.findById(id)
@@ -133,5 +177,57 @@ public class DeporteService {
 
         // Si no hay categorías ni jugadores, se puede eliminar el deporte
         deporteRepository.deleteById(id);
+        registroCambios.eliminado(Cambio.Entidad.DEPORTE, id);
+    }
+
+    /**
+     * Pasa todos los jugadores de un deporte a otro con un solo UPDATE, sin cargarlos uno por uno.
+     * Cada jugador recibe la categoría del deporte destino que corresponde a su edad; quien no cabe
+     * en ninguna se queda en el deporte de origen.
+     *
+     * @param id El ID del deporte de origen.
+     * @param destinoId El ID del deporte destino.
+     * @param eliminar Si es true, elimina además el deporte de origen y sus categorías en la misma transacción.
+     * @return Cuántos jugadores se movieron y cuántos no tenían categoría en el deporte destino.
+     * @throws ResourceNotFoundException si alguno de los deportes no existe.
+     * @throws IllegalArgumentException si el destino es el mismo deporte.
+     * @throws IllegalStateException si se pidió eliminar y quedaron jugadores sin categoría destino (no se aplica nada).
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DEPORTES, allEntries = true, condition = "#eliminar"),
+            @CacheEvict(cacheNames = CacheConfig.DEPORTE, key = "#id", condition = "#eliminar"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true, condition = "#eliminar"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_POR_DEPORTE, key = "#id", condition = "#eliminar")
+    })
+    @Transactional
+    public ReasignacionResultado reasignarJugadores(Long id, Long destinoId, boolean eliminar) {
+        Deporte deporte = deporteRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Deporte no encontrado con ID: " + id));
+        if (destinoId.equals(id)) {
+            throw new IllegalArgumentException("El deporte destino debe ser distinto del de origen.");
+        }
+        if (!deporteRepository.existsById(destinoId)) {
+            throw new ResourceNotFoundException("Deporte no encontrado con ID: " + destinoId);
+        }
+
+        List<JugadorRepository.CategoriaMovida> movidos = jugadorRepository.reasignarDeporte(id, destinoId);
+        long sinCategoria = jugadorRepository.countByDeporte(deporte);
+        if (eliminar && sinCategoria > 0) {
+            throw new IllegalStateException("No se puede eliminar el deporte '" + deporte.getNombre() + "' porque " +
+                                            sinCategoria + " jugador(es) no tienen una categoría para su edad en el deporte destino.");
+        }
+        contadoresJugadores.registrarReasignacion(id, destinoId, movidos);
+        registroCambios.guardados(Cambio.Entidad.JUGADOR, movidos.stream().map(JugadorRepository.CategoriaMovida::getJugadorId).toList());
+
+        if (eliminar) {
+            // Las categorías (ya sin jugadores) se borran en cascada con el deporte
+            List<Long> categoriaIds = deporte.getCategorias().stream().map(Categoria::getId).toList();
+            deporteRepository.delete(deporte);
+            categoriaIds.forEach(contadoresJugadores::eliminarCategoria);
+            categoriaIndex.reconstruirDespuesDelCommit();
+            registroCambios.eliminados(Cambio.Entidad.CATEGORIA, categoriaIds);
+            registroCambios.eliminado(Cambio.Entidad.DEPORTE, id);
+        }
+        return new ReasignacionResultado(movidos.size(), sinCategoria, eliminar);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.EstadisticasDto;
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class EstadisticasService {
+
+    // Límite superior (inclusive) de cada rango de edad; las edades mayores al último van en el rango abierto
+    private static final int[] LIMITES_RANGOS_EDAD = {6, 9, 12, 15, 18};
+
+    private final ContadoresJugadores contadoresJugadores;
+    private final DeporteService deporteService;
+    private final CategoriaService categoriaService;
+
+    public EstadisticasService(ContadoresJugadores contadoresJugadores,
+                               DeporteService deporteService,
+                               CategoriaService categoriaService) {
+        this.contadoresJugadores = contadoresJugadores;
+        this.deporteService = deporteService;
+        this.categoriaService = categoriaService;
+    }
+
+    /**
+     * Arma las estadísticas del club a partir de los contadores en memoria.
+     * Los nombres de deportes y categorías salen de los catálogos en caché, por lo que
+     * normalmente esta operación no consulta la base de datos.
+     * @return Las estadísticas por deporte, categoría, año de nacimiento y rango de edad.
+     */
+    public EstadisticasDto obtener() {
+        Map<Long, DeporteDto> deportes = deporteService.findAll(false).stream()
+                .collect(Collectors.toMap(DeporteDto::id, Function.identity()));
+        Map<Long, CategoriaDto> categorias = categoriaService.findAll(false).stream()
+                .collect(Collectors.toMap(CategoriaDto::id, Function.identity()));
+
+        List<EstadisticasDto.Conteo> porDeporte = new ArrayList<>();
+        contadoresJugadores.porDeporte().forEach((id, total) -> {
+            DeporteDto deporte = deportes.get(id);
+            porDeporte.add(new EstadisticasDto.Conteo(id, deporte != null ? deporte.nombre() : null, null, total));
+        });
+
+        List<EstadisticasDto.Conteo> porCategoria = new ArrayList<>();
+        contadoresJugadores.porCategoria().forEach((id, total) -> {
+            CategoriaDto categoria = categorias.get(id);
+            porCategoria.add(new EstadisticasDto.Conteo(id,
+                    categoria != null ? categoria.nombre() : null,
+                    categoria != null ? categoria.deporteId() : null,
+                    total));
+        });
+
+        Map<Integer, Long> porAnioNacimiento = contadoresJugadores.porAnioNacimiento();
+        return new EstadisticasDto(contadoresJugadores.total(), porDeporte, porCategoria,
+                porAnioNacimiento, agruparPorRangoEdad(porAnioNacimiento));
+    }
+
+    // Convierte los conteos por año de nacimiento en conteos por rango de edad (edad que se cumple este año)
+    private static Map<String, Long> agruparPorRangoEdad(Map<Integer, Long> porAnioNacimiento) {
+        Map<String, Long> porRango = new LinkedHashMap<>();
+        int desde = 0;
+        for (int limite : LIMITES_RANGOS_EDAD) {
+            porRango.put(desde + "-" + limite, 0L);
+            desde = limite + 1;
+        }
+        String rangoAbierto = desde + "+";
+        porRango.put(rangoAbierto, 0L);
+
+        int anioActual = Year.now().getValue();
+        porAnioNacimiento.forEach((anio, total) -> {
+            int edad = Math.max(anioActual - anio, 0);
+            String rango = rangoAbierto;
+            int inicio = 0;
+            for (int limite : LIMITES_RANGOS_EDAD) {
+                if (edad <= limite) {
+                    rango = inicio + "-" + limite;
+                    break;
+                }
+                inicio = limite + 1;
+            }
+            porRango.merge(rango, total, Long::sum);
+        });
+        return porRango;
+    }
+}
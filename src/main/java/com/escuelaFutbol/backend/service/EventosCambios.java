@@ -0,0 +1,192 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.EventoCambio;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reparte a las pantallas conectadas por SSE los cambios que se confirman (ver RegistroCambios).
+ * Quien publica nunca espera a un cliente: cada suscriptor tiene su propia cola acotada y un hilo virtual
+ * que la vacía hacia su conexión. Si la cola se llena, ese cliente va demasiado lento y se le corta
+ * la conexión; al reconectar recibe la revisión actual y se pone al día con GET /api/sync.
+ *
+ * Los cambios de una misma transacción llegan en orden, pero dos transacciones que se confirman a la vez
+ * pueden llegar intercaladas. Los lotes grandes (importaciones, recategorización) no se detallan:
+ * se envía un solo evento "resync" con la revisión más alta del lote.
+ */
+@Component
+public class EventosCambios {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosCambios.class);
+
+    public static final String EVENTO_REVISION = "revision";
+    public static final String EVENTO_CAMBIO = "cambio";
+    public static final String EVENTO_RESYNC = "resync";
+
+    // Comentario SSE vacío: mantiene viva la conexión en proxies y detecta clientes que ya se fueron
+    private static final Set<DataWithMediaType> LATIDO = SseEmitter.event().comment("").build();
+
+    private final CambioRepository cambioRepository;
+    private final ObjectMapper objectMapper;
+    private final int capacidadCola;
+    private final int maximoDetallado;
+    private final Duration latido;
+    private final Duration timeout;
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    public EventosCambios(CambioRepository cambioRepository,
+                          ObjectMapper objectMapper,
+                          @Value("${app.eventos.cola}") int capacidadCola,
+                          @Value("${app.eventos.maximo-detallado}") int maximoDetallado,
+                          @Value("${app.eventos.latido}") Duration latido,
+                          @Value("${app.eventos.timeout}") Duration timeout) {
+        this.cambioRepository = cambioRepository;
+        this.objectMapper = objectMapper;
+        this.capacidadCola = capacidadCola;
+        this.maximoDetallado = Math.min(maximoDetallado, capacidadCola);
+        this.latido = latido;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Abre una suscripción. El primer evento ("revision") trae la última revisión registrada;
+     * un cliente con una revisión anterior debe pedir GET /api/sync?since=... para no perder nada.
+     */
+    public SseEmitter suscribir() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Suscriptor suscriptor = new Suscriptor(emitter, new ArrayBlockingQueue<>(capacidadCola));
+        emitter.onCompletion(suscriptor::cerrar);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> suscriptor.cerrar());
+        // Se suscribe antes de leer la revisión: lo que se confirme en el medio llega repetido, nunca se pierde
+        suscriptores.add(suscriptor);
+        long revision;
+        try {
+            revision = cambioRepository.findUltimaRevision();
+        } catch (RuntimeException e) {
+            suscriptor.cerrar();
+            throw e;
+        }
+        suscriptor.cola.offer(mensaje(EVENTO_REVISION, revision, new Revision(revision)));
+        suscriptor.hilo = Thread.ofVirtual().name("sse-eventos").start(() -> escribir(suscriptor));
+        return emitter;
+    }
+
+    // Corre en el hilo que confirmó la transacción; solo encola, nunca escribe en una conexión
+    @TransactionalEventListener
+    public void publicar(RegistroCambios.CambiosRegistrados registrados) {
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+        List<Set<DataWithMediaType>> mensajes = mensajes(registrados.cambios());
+        for (Suscriptor suscriptor : suscriptores) {
+            for (Set<DataWithMediaType> mensaje : mensajes) {
+                if (!suscriptor.cola.offer(mensaje)) {
+                    log.info("Suscriptor de eventos descartado: su cola de {} eventos está llena", capacidadCola);
+                    suscriptor.cerrar();
+                    break;
+                }
+            }
+        }
+    }
+
+    // Cada evento se serializa una sola vez y el mismo mensaje se encola para todos los suscriptores
+    private List<Set<DataWithMediaType>> mensajes(List<EventoCambio> cambios) {
+        if (cambios.size() > maximoDetallado) {
+            EventoCambio primero = cambios.get(0);
+            long revision = cambios.stream().mapToLong(EventoCambio::revision).max().orElseThrow();
+            return List.of(mensaje(EVENTO_RESYNC, revision, new Resync(primero.entidad(), revision)));
+        }
+        List<Set<DataWithMediaType>> mensajes = new ArrayList<>(cambios.size());
+        for (EventoCambio cambio : cambios) {
+            mensajes.add(mensaje(EVENTO_CAMBIO, cambio.revision(), cambio));
+        }
+        return mensajes;
+    }
+
+    private Set<DataWithMediaType> mensaje(String nombre, long revision, Object datos) {
+        try {
+            return SseEmitter.event()
+                    .name(nombre)
+                    .id(Long.toString(revision))
+                    .data(objectMapper.writeValueAsString(datos))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + nombre, e);
+        }
+    }
+
+    private void escribir(Suscriptor suscriptor) {
+        try {
+            while (!suscriptor.cerrado) {
+                Set<DataWithMediaType> mensaje = suscriptor.cola.poll(latido.toMillis(), TimeUnit.MILLISECONDS);
+                suscriptor.emitter.send(mensaje != null ? mensaje : LATIDO);
+            }
+        } catch (InterruptedException e) {
+            // cerrar() interrumpe al hilo para que no espere al próximo latido
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión, o la respuesta ya se había completado
+        } finally {
+            suscriptor.cerrar();
+            suscriptor.emitter.complete();
+        }
+    }
+
+    private final class Suscriptor {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> cola;
+        private volatile Thread hilo;
+        private volatile boolean cerrado;
+
+        private Suscriptor(SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> cola) {
+            this.emitter = emitter;
+            this.cola = cola;
+        }
+
+        // Puede llamarse varias veces y desde cualquier hilo
+        private void cerrar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            suscriptores.remove(this);
+            cola.clear();
+            Thread escritor = hilo;
+            if (escritor != null && escritor != Thread.currentThread()) {
+                escritor.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Datos del evento "revision": la última revisión registrada al momento de suscribirse.
+     */
+    public record Revision(long revision) {
+    }
+
+    /**
+     * Datos del evento "resync": hubo demasiados cambios de una entidad para detallarlos.
+     */
+    public record Resync(Cambio.Entidad entidad, long revision) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.config.LecturaEscrituraDataSource;
+import com.escuelaFutbol.backend.entity.Jugador;
+import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fotos de jugadores guardadas en disco local.
+ * Cada archivo se nombra con el SHA-256 de su contenido ({hash}.jpg o {hash}.png), así que un nombre
+ * nunca cambia de contenido y se puede cachear para siempre; subir dos veces la misma imagen no ocupa más espacio.
+ * Al subir se generan también las miniaturas ({hash}-{tamaño}.jpg) para los tamaños de app.fotos.miniaturas,
+ * una sola vez, para que los listados no tengan que pedir la foto original.
+ * La imagen se decodifica submuestreada, a poco más del tamaño de la miniatura más grande, y solo
+ * app.fotos.procesos-simultaneos subidas la procesan a la vez: la memoria no depende del tamaño de la foto.
+ */
+@Service
+public class FotoService {
+
+    public static final String RUTA_PUBLICA = "/api/fotos/";
+
+    // Solo nombres generados por este servicio: evita que un parámetro como "../algo" salga del directorio
+    private static final Pattern NOMBRE_ARCHIVO = Pattern.compile("([0-9a-f]{64})(?:-(\\d{1,4}))?\\.(jpg|png)");
+    private static final float CALIDAD_JPEG = 0.85f;
+    // Un archivo chico puede declarar dimensiones enormes. Con el submuestreo la memoria ya no depende de esto,
+    // pero el tiempo de decodificación sí: se rechaza antes de leer los píxeles
+    private static final long MAXIMO_PIXELES = 40_000_000L;
+
+    private final JugadorService jugadorService;
+    private final Path directorio;
+    private final List<Integer> miniaturas;
+    private final int miniaturaMayor;
+    private final Semaphore procesos;
+
+    public FotoService(JugadorService jugadorService,
+                       @Value("${app.fotos.directorio}") Path directorio,
+                       @Value("${app.fotos.miniaturas}") List<Integer> miniaturas,
+                       @Value("${app.fotos.procesos-simultaneos}") int procesosSimultaneos) throws IOException {
+        if (procesosSimultaneos < 1) {
+            throw new IllegalArgumentException("app.fotos.procesos-simultaneos debe ser al menos 1.");
+        }
+        this.jugadorService = jugadorService;
+        this.directorio = Files.createDirectories(directorio.toAbsolutePath().normalize());
+        this.miniaturas = List.copyOf(miniaturas);
+        this.miniaturaMayor = Collections.max(this.miniaturas);
+        this.procesos = new Semaphore(procesosSimultaneos);
+    }
+
+    /**
+     * Guarda la foto de un jugador con sus miniaturas y actualiza su fotoUrl.
+     * Los archivos se escriben antes de abrir la transacción, así la conexión no queda tomada
+     * mientras se decodifica y redimensiona la imagen.
+     * @param jugadorId ID del jugador.
+     * @param archivo Imagen JPEG o PNG recibida.
+     * @return El jugador con la nueva fotoUrl.
+     * @throws ResourceNotFoundException si el jugador no existe.
+     * @throws IllegalArgumentException si el archivo está vacío o no es una imagen JPEG/PNG.
+     */
+    public Jugador guardarFoto(Long jugadorId, MultipartFile archivo) {
+        // En la primaria: el jugador puede haberse creado recién y no estar todavía en la réplica
+        if (LecturaEscrituraDataSource.enPrimaria(() -> jugadorService.findVersionById(jugadorId)).isEmpty()) {
+            throw new ResourceNotFoundException("Jugador no encontrado con ID: " + jugadorId);
+        }
+        if (archivo.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de la foto está vacío.");
+        }
+        byte[] contenido;
+        try {
+            contenido = archivo.getBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String nombre;
+        // Las demás subidas esperan su turno (con hilos virtuales esperar no ocupa un hilo de plataforma)
+        procesos.acquireUninterruptibly();
+        try {
+            Imagen imagen = decodificar(contenido, 2 * miniaturaMayor);
+            String hash = HexFormat.of().formatHex(sha256(contenido));
+            nombre = hash + "." + imagen.extension();
+            escribirSiNoExiste(nombre, out -> out.write(contenido));
+            for (int tamano : miniaturas) {
+                escribirSiNoExiste(hash + "-" + tamano + ".jpg", out -> escribirJpeg(miniatura(imagen.pixeles(), tamano), out));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            procesos.release();
+        }
+        return jugadorService.actualizarFoto(jugadorId, RUTA_PUBLICA + nombre);
+    }
+
+    /**
+     * Busca en disco un archivo de foto por su nombre público.
+     * @param nombre Nombre tal como aparece en la URL (por ejemplo {hash}-160.jpg).
+     * @return La ruta del archivo, o vacío si el nombre no es válido o el archivo no existe.
+     */
+    public Optional<Path> buscarArchivo(String nombre) {
+        if (!NOMBRE_ARCHIVO.matcher(nombre).matches()) {
+            return Optional.empty();
+        }
+        Path archivo = directorio.resolve(nombre);
+        return Files.isRegularFile(archivo) ? Optional.of(archivo) : Optional.empty();
+    }
+
+    /**
+     * Arma la URL de una foto en el tamaño pedido a partir de la fotoUrl de un jugador.
+     * @param fotoUrl fotoUrl guardada en el jugador.
+     * @param tamano (Opcional) Tamaño de miniatura; null para la foto original.
+     * @return La URL a la que redirigir.
+     * @throws IllegalArgumentException si el tamaño no es uno de los configurados.
+     */
+    public String urlEnTamano(String fotoUrl, Integer tamano) {
+        if (tamano == null) {
+            return fotoUrl;
+        }
+        if (!miniaturas.contains(tamano)) {
+            throw new IllegalArgumentException("Tamaño de miniatura no disponible: " + tamano + ". Tamaños válidos: " + miniaturas + ".");
+        }
+        Matcher matcher = fotoUrl.startsWith(RUTA_PUBLICA)
+                ? NOMBRE_ARCHIVO.matcher(fotoUrl.substring(RUTA_PUBLICA.length()))
+                : null;
+        if (matcher == null || !matcher.matches()) {
+            // Una fotoUrl externa (cargada a mano antes de existir la subida) no tiene miniaturas
+            return fotoUrl;
+        }
+        return RUTA_PUBLICA + matcher.group(1) + "-" + tamano + ".jpg";
+    }
+
+    // Decodifica la imagen y conserva el formato real (no el Content-Type ni la extensión que dice el cliente).
+    // Los píxeles solo se usan para las miniaturas (la foto original se guarda tal cual llegó), así que se lee
+    // 1 de cada n píxeles por lado, con n tal que el lado mayor siga midiendo al menos ladoMinimo; el escalado
+    // bicúbico de miniatura() suaviza lo que deja el submuestreo.
+    private static Imagen decodificar(byte[] contenido, int ladoMinimo) {
+        try (ImageInputStream entrada = new MemoryCacheImageInputStream(new ByteArrayInputStream(contenido))) {
+            Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+            if (lectores.hasNext()) {
+                ImageReader lector = lectores.next();
+                try {
+                    String formato = lector.getFormatName().toLowerCase();
+                    if (formato.equals("jpeg") || formato.equals("png")) {
+                        lector.setInput(entrada, true, true);
+                        int ancho = lector.getWidth(0);
+                        int alto = lector.getHeight(0);
+                        if ((long) ancho * alto > MAXIMO_PIXELES) {
+                            throw new IllegalArgumentException("La foto es demasiado grande (máximo " + MAXIMO_PIXELES / 1_000_000 + " megapíxeles).");
+                        }
+                        int paso = Math.max(1, Math.max(ancho, alto) / ladoMinimo);
+                        ImageReadParam parametros = lector.getDefaultReadParam();
+                        parametros.setSourceSubsampling(paso, paso, 0, 0);
+                        return new Imagen(lector.read(0, parametros), formato.equals("png") ? "png" : "jpg");
+                    }
+                } finally {
+                    lector.dispose();
+                }
+            }
+        } catch (IOException e) {
+            // Cabecera reconocible pero datos corruptos: se trata igual que un formato no soportado
+        }
+        throw new IllegalArgumentException("La foto debe ser una imagen JPEG o PNG válida.");
+    }
+
+    // Escala para que el lado mayor mida como mucho "tamano"; las imágenes más chicas no se agrandan.
+    // Se dibuja sobre fondo blanco porque JPEG no tiene transparencia.
+    private static BufferedImage miniatura(BufferedImage original, int tamano) {
+        double escala = Math.min(1.0, (double) tamano / Math.max(original.getWidth(), original.getHeight()));
+        int ancho = Math.max(1, (int) Math.round(original.getWidth() * escala));
+        int alto = Math.max(1, (int) Math.round(original.getHeight() * escala));
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, ancho, alto, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private static void escribirJpeg(BufferedImage imagen, OutputStream out) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream salida = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(CALIDAD_JPEG);
+            escritor.setOutput(salida);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+
+    // Los nombres dependen del contenido: si el archivo ya existe es idéntico y no hay nada que escribir.
+    // Se escribe a un temporal y se renombra, así nunca se sirve un archivo a medio escribir.
+    private void escribirSiNoExiste(String nombre, Escritura escritura) throws IOException {
+        Path destino = directorio.resolve(nombre);
+        if (Files.exists(destino)) {
+            return;
+        }
+        Path temporal = Files.createTempFile(directorio, ".subida-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporal)) {
+                escritura.escribir(out);
+            }
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private static byte[] sha256(byte[] contenido) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contenido);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible en esta JVM", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Escritura {
+        void escribir(OutputStream out) throws IOException;
+    }
+
+    private record Imagen(BufferedImage pixeles, String extension) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.ImportacionJugadoresResultado;
+import com.escuelaFutbol.backend.dto.JugadorLoteItem;
+import com.escuelaFutbol.backend.dto.JugadorLoteResultado;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importación de planillas de jugadores en CSV.
+ * El archivo se lee fila por fila mientras llega y se registra en bloques de app.jugadores.import.chunk-size
+ * filas con JugadorService.saveAll, cada bloque en su propia transacción. Así la memoria depende del tamaño
+ * del bloque y no del archivo, y un error en un bloque no deshace los anteriores.
+ *
+ * La primera línea es la cabecera con los nombres de las columnas (en cualquier orden):
+ * nombre, apellido, documentoIdentidad, fechaNacimiento (AAAA-MM-DD), telefonoContacto, emailContacto,
+ * fotoUrl y deporteId. Las columnas desconocidas se ignoran y las celdas vacías cuentan como nulas.
+ */
+@Service
+public class ImportacionJugadoresService {
+
+    private final JugadorService jugadorService;
+    private final EntityManager entityManager;
+    private final CsvMapper csvMapper;
+    private final int tamanoBloque;
+
+    public ImportacionJugadoresService(JugadorService jugadorService,
+                                       EntityManager entityManager,
+                                       @Value("${app.jugadores.import.chunk-size}") int tamanoBloque) {
+        if (tamanoBloque < 1 || tamanoBloque > JugadorService.MAXIMO_LOTE) {
+            throw new IllegalArgumentException("app.jugadores.import.chunk-size debe estar entre 1 y " + JugadorService.MAXIMO_LOTE + ".");
+        }
+        this.jugadorService = jugadorService;
+        this.entityManager = entityManager;
+        this.tamanoBloque = tamanoBloque;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+    }
+
+    /**
+     * Importa los jugadores de un CSV.
+     * @param csv Contenido del archivo; se lee en streaming y no se cierra aquí.
+     * @param separador Separador de columnas (',' o ';', como exportan las planillas en español).
+     * @param deporteIdPorDefecto (Opcional) Deporte para las filas sin columna deporteId.
+     * @return El resumen de la importación con el detalle de las filas rechazadas.
+     * @throws IOException si falla la lectura del cuerpo de la petición.
+     */
+    public ImportacionJugadoresResultado importar(InputStream csv, char separador, Long deporteIdPorDefecto) throws IOException {
+        ObjectReader reader = csvMapper.readerFor(JugadorLoteItem.class)
+                .with(CsvSchema.emptySchema().withHeader().withColumnSeparator(separador));
+        Progreso progreso = new Progreso();
+        List<JugadorLoteItem> bloque = new ArrayList<>(tamanoBloque);
+        List<Integer> filasDelBloque = new ArrayList<>(tamanoBloque);
+
+        try (MappingIterator<JugadorLoteItem> filas = reader.readValues(csv)) {
+            while (filas.hasNextValue()) {
+                int fila = progreso.filas++;
+                try {
+                    bloque.add(filas.nextValue());
+                    filasDelBloque.add(fila);
+                } catch (JsonMappingException e) {
+                    // Un valor mal escrito (por ejemplo una fecha) rechaza solo su fila; el iterador sigue con la próxima
+                    progreso.rechazar(fila, "Fila inválida: " + e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    progreso.rechazar(fila, csvMalFormado(e));
+                    break;
+                }
+                if (bloque.size() == tamanoBloque) {
+                    registrarBloque(bloque, filasDelBloque, deporteIdPorDefecto, progreso);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            progreso.rechazar(progreso.filas++, csvMalFormado(e));
+        }
+        if (!bloque.isEmpty()) {
+            registrarBloque(bloque, filasDelBloque, deporteIdPorDefecto, progreso);
+        }
+        return new ImportacionJugadoresResultado(progreso.filas, progreso.creados, progreso.rechazados, progreso.errores);
+    }
+
+    // Registra el bloque y lo vacía. Si la base rechaza el bloque entero, saveAll ya lo reintenta fila por fila
+    private void registrarBloque(List<JugadorLoteItem> bloque, List<Integer> filasDelBloque,
+                                 Long deporteIdPorDefecto, Progreso progreso) {
+        acumular(jugadorService.saveAll(bloque, deporteIdPorDefecto), filasDelBloque, progreso);
+        bloque.clear();
+        filasDelBloque.clear();
+        // Con open-in-view la petición entera comparte un mismo contexto de persistencia: sin vaciarlo,
+        // cada bloque acumularía los jugadores de los anteriores y el flush los revisaría todos otra vez
+        entityManager.clear();
+    }
+
+    // CSV mal formado (por ejemplo, comillas sin cerrar): no se puede seguir leyendo, pero lo ya leído
+    // se registra igual y el error queda en el reporte como una fila más
+    private static String csvMalFormado(JsonProcessingException e) {
+        return "CSV mal formado, se dejó de leer el archivo: " + e.getOriginalMessage();
+    }
+
+    // saveAll numera desde 0 dentro del bloque; aquí se traduce a la fila del archivo
+    private static void acumular(List<JugadorLoteResultado> resultados, List<Integer> filas, Progreso progreso) {
+        for (JugadorLoteResultado resultado : resultados) {
+            if (JugadorLoteResultado.CREADO.equals(resultado.estado())) {
+                progreso.creados++;
+            } else {
+                progreso.rechazar(filas.get(resultado.indice()), resultado.error());
+            }
+        }
+    }
+
+    private static final class Progreso {
+        int filas;
+        long creados;
+        long rechazados;
+        final List<JugadorLoteResultado> errores = new ArrayList<>();
+
+        void rechazar(int fila, String error) {
+            rechazados++;
+            if (errores.size() < ImportacionJugadoresResultado.MAXIMO_ERRORES_REPORTADOS) {
+                errores.add(JugadorLoteResultado.error(fila, error));
+            }
+        }
+    }
+}
@@ -1,53 +1,204 @@
 package com.escuelaFutbol.backend.service;
 
-import com.escuelaFutbol.backend.entity.Categoria;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.dto.JugadoresPorIds;
+import com.escuelaFutbol.backend.dto.JugadorLoteItem;
+import com.escuelaFutbol.backend.dto.JugadorLoteResultado;
+import com.escuelaFutbol.backend.entity.Cambio;
 import com.escuelaFutbol.backend.entity.Deporte;
 import com.escuelaFutbol.backend.entity.Jugador;
 import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import com.escuelaFutbol.backend.exception.RestriccionesBd;
 import com.escuelaFutbol.backend.repository.CategoriaRepository;
 import com.escuelaFutbol.backend.repository.DeporteRepository;
 import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class JugadorService {
 
+    // Máximo de jugadores aceptados en una sola petición de registro masivo
+    public static final int MAXIMO_LOTE = 1000;
+    public static final int MAXIMO_IDS = 1000;
+    // Largo mínimo del texto de búsqueda: con menos de 3 caracteres no hay trigramas y la búsqueda recorre la tabla entera
+    public static final int MINIMO_BUSQUEDA = 3;
+
     private final JugadorRepository jugadorRepository;
     private final CategoriaRepository categoriaRepository;
     private final DeporteRepository deporteRepository;
+    private final CategoriaIndex categoriaIndex;
+    private final ContadoresJugadores contadoresJugadores;
+    private final RegistroCambios registroCambios;
+    private final TransactionTemplate transaccion;
 
     // Constructor para inyección de dependencias
     public JugadorService(JugadorRepository jugadorRepository,
                           CategoriaRepository categoriaRepository,
-                          DeporteRepository deporteRepository) {
+                          DeporteRepository deporteRepository,
+                          CategoriaIndex categoriaIndex,
+                          ContadoresJugadores contadoresJugadores,
+                          RegistroCambios registroCambios,
+                          PlatformTransactionManager transactionManager) {
         this.jugadorRepository = jugadorRepository;
         this.categoriaRepository = categoriaRepository;
         this.deporteRepository = deporteRepository;
+        this.categoriaIndex = categoriaIndex;
+        this.contadoresJugadores = contadoresJugadores;
+        this.registroCambios = registroCambios;
+        this.transaccion = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Obtiene todos los jugadores.
      * @return Lista de todos los jugadores.
      */
+    @Transactional(readOnly = true)
     public List<Jugador> findAll() {
         return jugadorRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de jugadores ordenada por ID usando paginación por keyset.
+     * Cada llamada es una transacción corta, de modo que los jugadores de páginas anteriores
+     * no se acumulan en el contexto de persistencia.
+     * @param despuesDeId ID del último jugador de la página anterior (null para empezar desde el principio).
+     * @param limite Número máximo de jugadores a devolver.
+     * @return Lista de jugadores (vista plana con categoría y deporte) con ID mayor a despuesDeId, ordenada por ID ascendente.
+     */
+    @Transactional(readOnly = true)
+    public List<JugadorDto> findPagina(Long despuesDeId, int limite) {
+        return jugadorRepository.findPaginaDto(despuesDeId != null ? despuesDeId : 0L, Limit.of(limite));
+    }
+
+    /**
+     * Busca jugadores por nombre, apellido o documento de identidad, sin distinguir acentos ni mayúsculas.
+     * Admite coincidencias parciales (prefijos y subcadenas) y aproximadas (similitud por trigramas).
+     * Primero se obtienen los IDs de la página ordenados por relevancia y después los jugadores con una
+     * consulta por clave primaria, como vista plana con categoría y deporte.
+     * @param texto Texto a buscar (al menos MINIMO_BUSQUEDA caracteres).
+     * @param pagina Número de página (empezando en 0).
+     * @param tamano Tamaño de página.
+     * @return La página de jugadores encontrados, ordenados por relevancia.
+     * @throws IllegalArgumentException si el texto es demasiado corto.
+     */
+    @Transactional(readOnly = true)
+    public Slice<JugadorDto> buscar(String texto, int pagina, int tamano) {
+        String consulta = texto != null ? texto.trim() : "";
+        if (consulta.length() < MINIMO_BUSQUEDA) {
+            throw new IllegalArgumentException("El texto de búsqueda debe tener al menos " + MINIMO_BUSQUEDA + " caracteres.");
+        }
+        // Escapar los comodines de LIKE para que '%' o '_' escritos por el usuario se busquen literalmente
+        String patron = consulta.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        Slice<Long> ids = jugadorRepository.buscarIds(consulta, patron, PageRequest.of(pagina, tamano));
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), ids.getPageable(), ids.hasNext());
+        }
+        Map<Long, JugadorDto> encontrados = jugadorRepository.findDtoByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(JugadorDto::id, Function.identity()));
+        // En el orden de relevancia; un jugador borrado entre las dos consultas simplemente no aparece
+        List<JugadorDto> jugadores = ids.getContent().stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SliceImpl<>(jugadores, ids.getPageable(), ids.hasNext());
+    }
+
+    /**
+     * Recorre todos los jugadores con un cursor de base de datos y entrega cada uno al consumidor.
+     * Se ejecuta en una única transacción de solo lectura; las filas se leen por bloques y no se
+     * retienen, así que la memoria usada no depende del número de jugadores.
+     * @param consumidor Función que recibe cada jugador (por ejemplo, para escribirlo en la respuesta).
+     * @return Número de jugadores entregados.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Consumer<JugadorDto> consumidor) {
+        long total = 0;
+        try (Stream<JugadorDto> jugadores = jugadorRepository.streamAllDto()) {
+            for (JugadorDto jugador : (Iterable<JugadorDto>) jugadores::iterator) {
+                consumidor.accept(jugador);
+                total++;
+            }
+        }
+        return total;
+    }
+
     /**
      * Busca un jugador por su ID.
      * @param id ID del jugador.
      * @return Un Optional que contiene el jugador si se encuentra, o vacío si no.
      */
+    @Transactional(readOnly = true)
     public Optional<Jugador> findById(Long id) {
         return jugadorRepository.findById(id);
     }
 
+    /**
+     * Obtiene solo la versión de un jugador, sin cargar la entidad.
+     * @param id ID del jugador.
+     * @return Un Optional con la versión, o vacío si el jugador no existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersionById(Long id) {
+        return jugadorRepository.findVersionById(id);
+    }
+
+    /**
+     * Busca varios jugadores por ID con una sola consulta (IN), trayendo su categoría y deporte en el mismo JOIN.
+     * @param ids IDs pedidos; los repetidos se consideran una sola vez.
+     * @return Los jugadores encontrados y los IDs que no existen, ambos en el orden de ids.
+     * @throws IllegalArgumentException si no se pide ningún ID o se piden más de MAXIMO_IDS.
+     */
+    @Transactional(readOnly = true)
+    public JugadoresPorIds findAllByIds(List<Long> ids) {
+        Set<Long> pedidos = ids == null ? Set.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un ID de jugador.");
+        }
+        if (pedidos.size() > MAXIMO_IDS) {
+            throw new IllegalArgumentException("No se pueden pedir más de " + MAXIMO_IDS + " jugadores a la vez.");
+        }
+        Map<Long, JugadorDto> encontrados = jugadorRepository.findDtoByIdIn(pedidos).stream()
+                .collect(Collectors.toMap(JugadorDto::id, Function.identity()));
+
+        List<JugadorDto> jugadores = new ArrayList<>(encontrados.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : pedidos) {
+            JugadorDto jugador = encontrados.get(id);
+            if (jugador != null) {
+                jugadores.add(jugador);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return new JugadoresPorIds(jugadores, noEncontrados);
+    }
+
     /**
      * Guarda un nuevo jugador, asignándole un deporte y categoría.
      * @param jugador El objeto Jugador a guardar.
@@ -61,11 +212,6 @@ public class JugadorService {
         // Validar el jugador antes de cualquier operación
         //jugador.validate();
 
-        // Verificar si el documento de identidad ya existe
-        if (jugadorRepository.findByDocumentoIdentidad(jugador.getDocumentoIdentidad()).isPresent()) {
-            throw new IllegalArgumentException("El documento de identidad '" + jugador.getDocumentoIdentidad() + "' ya está en uso.");
-        }
-
         // Buscar y asignar el deporte
         Deporte deporte = deporteRepository.findById(deporteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Deporte no encontrado con ID: " + deporteId));
@@ -74,7 +220,111 @@ public class JugadorService {
         // Asignar categoría basada en la edad y el deporte
         asignarCategoriaPorEdad(jugador, deporte);
 
-        return jugadorRepository.save(jugador);
+        // Un documento de identidad repetido lo rechaza la restricción uk_jugadores_documento en el mismo INSERT,
+        // también cuando dos peticiones registran el mismo documento a la vez
+        Jugador savedJugador;
+        try {
+            savedJugador = jugadorRepository.saveAndFlush(jugador);
+        } catch (DataIntegrityViolationException e) {
+            throw documentoEnUso(e, "El documento de identidad '" + jugador.getDocumentoIdentidad() + "' ya está en uso.");
+        }
+        contadoresJugadores.registrarAlta(ContadoresJugadores.Registro.de(savedJugador));
+        registroCambios.guardado(Cambio.Entidad.JUGADOR, savedJugador.getId());
+        return savedJugador;
+    }
+
+    /**
+     * Registra un lote de jugadores usando operaciones por conjuntos en lugar de una consulta por jugador.
+     * Los documentos duplicados se detectan con una sola consulta IN, los deportes se resuelven una vez
+     * por lote y las categorías salen del índice en memoria; los INSERT se envían en lotes JDBC.
+     * Las filas inválidas se reportan individualmente y no impiden registrar las demás.
+     * Si la base rechaza el lote al insertar (otra petición registró el mismo documento entre la validación
+     * y el INSERT, o un valor no cabe en su columna), el lote se deshace y se reintenta fila por fila, cada una
+     * en su propia transacción, para reportar cuál falló. Por eso no debe llamarse dentro de otra transacción.
+     * @param items Jugadores a registrar.
+     * @param deporteIdPorDefecto (Opcional) ID del deporte para las filas que no indican uno.
+     * @return Un resultado por fila, en el mismo orden de la petición.
+     * @throws IllegalArgumentException si el lote está vacío o supera MAXIMO_LOTE.
+     */
+    public List<JugadorLoteResultado> saveAll(List<JugadorLoteItem> items, Long deporteIdPorDefecto) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("El lote de jugadores no puede estar vacío.");
+        }
+        if (items.size() > MAXIMO_LOTE) {
+            throw new IllegalArgumentException("El lote no puede tener más de " + MAXIMO_LOTE + " jugadores.");
+        }
+        try {
+            return transaccion.execute(estado -> registrarLote(items, deporteIdPorDefecto));
+        } catch (DataIntegrityViolationException e) {
+            List<JugadorLoteResultado> resultados = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                resultados.add(registrarFila(items.get(i), i, deporteIdPorDefecto));
+            }
+            return resultados;
+        }
+    }
+
+    // Reintento de una sola fila de un lote rechazado; el resultado se renumera con su posición en el lote
+    private JugadorLoteResultado registrarFila(JugadorLoteItem item, int indice, Long deporteIdPorDefecto) {
+        try {
+            JugadorLoteResultado resultado = transaccion.execute(estado -> registrarLote(List.of(item), deporteIdPorDefecto)).get(0);
+            return JugadorLoteResultado.CREADO.equals(resultado.estado())
+                    ? JugadorLoteResultado.creado(indice, resultado.id())
+                    : JugadorLoteResultado.error(indice, resultado.error());
+        } catch (DataIntegrityViolationException e) {
+            return JugadorLoteResultado.error(indice, RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_JUGADORES_DOCUMENTO)
+                    ? "El documento de identidad '" + item.documentoIdentidad() + "' ya está en uso."
+                    : "La fila viola una restricción de integridad de los datos.");
+        }
+    }
+
+    // Un intento de registro del lote completo, dentro de la transacción que abre saveAll
+    private List<JugadorLoteResultado> registrarLote(List<JugadorLoteItem> items, Long deporteIdPorDefecto) {
+        // 1. Documentos ya registrados: una sola consulta para todo el lote
+        Set<String> documentos = items.stream()
+                .map(JugadorLoteItem::documentoIdentidad)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> documentosExistentes = documentos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(jugadorRepository.findDocumentosExistentes(documentos));
+
+        // 2. Deportes del lote: una sola consulta
+        Set<Long> deporteIds = items.stream()
+                .map(item -> item.deporteId() != null ? item.deporteId() : deporteIdPorDefecto)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Deporte> deportes = deporteRepository.findAllById(deporteIds).stream()
+                .collect(Collectors.toMap(Deporte::getId, Function.identity()));
+
+        // 3. Validar y construir cada jugador; los errores se registran por fila
+        JugadorLoteResultado[] resultados = new JugadorLoteResultado[items.size()];
+        List<Jugador> nuevos = new ArrayList<>(items.size());
+        List<Integer> indicesNuevos = new ArrayList<>(items.size());
+        Set<String> documentosDelLote = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            JugadorLoteItem item = items.get(i);
+            try {
+                Long deporteId = item.deporteId() != null ? item.deporteId() : deporteIdPorDefecto;
+                Jugador jugador = construirJugadorDeLote(item, deporteId, deportes, documentosExistentes, documentosDelLote);
+                nuevos.add(jugador);
+                indicesNuevos.add(i);
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                resultados[i] = JugadorLoteResultado.error(i, e.getMessage());
+            }
+        }
+
+        // 4. Insertar todos los válidos; con la secuencia pooled y hibernate.jdbc.batch_size viajan en lotes
+        jugadorRepository.saveAll(nuevos);
+        jugadorRepository.flush();
+
+        for (int i = 0; i < nuevos.size(); i++) {
+            int indice = indicesNuevos.get(i);
+            resultados[indice] = JugadorLoteResultado.creado(indice, nuevos.get(i).getId());
+            contadoresJugadores.registrarAlta(ContadoresJugadores.Registro.de(nuevos.get(i)));
+        }
+        registroCambios.guardados(Cambio.Entidad.JUGADOR, nuevos.stream().map(Jugador::getId).toList());
+        return Arrays.asList(resultados);
     }
 
     /**
@@ -90,6 +340,7 @@ public class JugadorService {
     public Jugador update(Long id, Jugador jugadorDetails, Long nuevoDeporteId) {
         Jugador jugadorExistente = jugadorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
+        ContadoresJugadores.Registro registroAnterior = ContadoresJugadores.Registro.de(jugadorExistente);
 
         // Actualizar campos básicos
         jugadorExistente.setNombre(jugadorDetails.getNombre());
@@ -99,12 +350,8 @@ public class JugadorService {
         jugadorExistente.setTelefonoContacto(jugadorDetails.getTelefonoContacto());
         jugadorExistente.setEmailContacto(jugadorDetails.getEmailContacto());
 
-        // Manejar actualización de documento de identidad (asegurando unicidad)
+        // Manejar actualización de documento de identidad (la unicidad la verifica la base de datos al guardar)
         if (jugadorDetails.getDocumentoIdentidad() != null && !jugadorDetails.getDocumentoIdentidad().equals(jugadorExistente.getDocumentoIdentidad())) {
-            Optional<Jugador> existingWithDoc = jugadorRepository.findByDocumentoIdentidad(jugadorDetails.getDocumentoIdentidad());
-            if (existingWithDoc.isPresent() && !existingWithDoc.get().getId().equals(id)) {
-                throw new IllegalArgumentException("El nuevo documento de identidad ya está asociado a otro jugador.");
-            }
             jugadorExistente.setDocumentoIdentidad(jugadorDetails.getDocumentoIdentidad());
         }
 
@@ -130,7 +377,32 @@ public class JugadorService {
         // Validar la entidad actualizada (esto validará todos los campos, incluida la categoría)
         //jugadorExistente.validate();
 
-        return jugadorRepository.save(jugadorExistente);
+        Jugador updatedJugador;
+        try {
+            updatedJugador = jugadorRepository.saveAndFlush(jugadorExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw documentoEnUso(e, "El nuevo documento de identidad ya está asociado a otro jugador.");
+        }
+        contadoresJugadores.registrarCambio(registroAnterior, ContadoresJugadores.Registro.de(updatedJugador));
+        registroCambios.guardado(Cambio.Entidad.JUGADOR, id);
+        return updatedJugador;
+    }
+
+    /**
+     * Cambia solo la fotoUrl de un jugador.
+     * @param id ID del jugador.
+     * @param fotoUrl Nueva URL de la foto.
+     * @return El jugador actualizado.
+     * @throws ResourceNotFoundException si el jugador no se encuentra.
+     */
+    @Transactional
+    public Jugador actualizarFoto(Long id, String fotoUrl) {
+        Jugador jugador = jugadorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
+        jugador.setFotoUrl(fotoUrl);
+        Jugador updatedJugador = jugadorRepository.saveAndFlush(jugador);
+        registroCambios.guardado(Cambio.Entidad.JUGADOR, id);
+        return updatedJugador;
     }
 
     /**
@@ -140,10 +412,52 @@ public class JugadorService {
      */
     @Transactional
     public void deleteById(Long id) {
-        if (!jugadorRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Jugador no encontrado con ID: " + id);
+        // Se carga el jugador (en lugar de existsById) para saber qué contadores descontar;
+        // deleteById de Spring Data también lo cargaba, así que no hay consultas de más
+        Jugador jugador = jugadorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Jugador no encontrado con ID: " + id));
+        jugadorRepository.delete(jugador);
+        contadoresJugadores.registrarBaja(ContadoresJugadores.Registro.de(jugador));
+        registroCambios.eliminado(Cambio.Entidad.JUGADOR, id);
+    }
+
+    /**
+     * Traduce la violación de uk_jugadores_documento al IllegalArgumentException de siempre (400);
+     * cualquier otra violación de integridad se relanza tal cual.
+     */
+    private static RuntimeException documentoEnUso(DataIntegrityViolationException e, String mensaje) {
+        if (RestriccionesBd.esViolacionDe(e, RestriccionesBd.UK_JUGADORES_DOCUMENTO)) {
+            return new IllegalArgumentException(mensaje, e);
         }
-        jugadorRepository.deleteById(id);
+        return e;
+    }
+
+    /**
+     * Método auxiliar que valida una fila de un lote y construye el jugador correspondiente.
+     * @throws IllegalArgumentException si faltan datos obligatorios o el documento ya está en uso.
+     * @throws ResourceNotFoundException si el deporte no existe o no hay categoría para la edad.
+     */
+    private Jugador construirJugadorDeLote(JugadorLoteItem item, Long deporteId, Map<Long, Deporte> deportes,
+                                           Set<String> documentosExistentes, Set<String> documentosDelLote) {
+        if (item.nombre() == null || item.nombre().isBlank() || item.apellido() == null || item.apellido().isBlank()) {
+            throw new IllegalArgumentException("El nombre y el apellido del jugador son obligatorios.");
+        }
+        String documento = item.documentoIdentidad();
+        if (documento != null && (documentosExistentes.contains(documento) || !documentosDelLote.add(documento))) {
+            throw new IllegalArgumentException("El documento de identidad '" + documento + "' ya está en uso.");
+        }
+        if (deporteId == null) {
+            throw new IllegalArgumentException("Debe indicarse el deporte del jugador.");
+        }
+        Deporte deporte = deportes.get(deporteId);
+        if (deporte == null) {
+            throw new ResourceNotFoundException("Deporte no encontrado con ID: " + deporteId);
+        }
+
+        Jugador jugador = new Jugador(item.nombre(), item.apellido(), documento, item.fechaNacimiento(),
+                item.telefonoContacto(), item.emailContacto(), item.fotoUrl(), null, deporte);
+        asignarCategoriaPorEdad(jugador, deporte);
+        return jugador;
     }
 
     /**
@@ -165,16 +479,14 @@ public class JugadorService {
         // Calcular la edad del jugador
         int edadJugador = Period.between(jugador.getFechaNacimiento(), LocalDate.now()).getYears();
 
-        // Buscar todas las categorías para el deporte específico
-        // Asegúrate que CategoriaRepository tiene el método findByDeporte(Deporte deporte)
-        List<Categoria> categoriasDelDeporte = categoriaRepository.findByDeporte(deporte);
-
-        Optional<Categoria> categoriaEncontrada = categoriasDelDeporte.stream()
-                .filter(cat -> edadJugador >= cat.getEdadMinima() && edadJugador <= cat.getEdadMaxima())
-                .findFirst();
+        // Buscar la categoría en el índice en memoria (búsqueda binaria, sin consultar la base de datos)
+        long categoriaId = categoriaIndex.buscarCategoriaId(deporte.getId(), edadJugador);
+        if (categoriaId == CategoriaIndex.SIN_CATEGORIA) {
+            throw new ResourceNotFoundException("No se encontró una categoría adecuada para la edad " + edadJugador +
+                        " para el deporte '" + deporte.getNombre() + "'.");
+        }
 
-        jugador.setCategoria(categoriaEncontrada.orElseThrow(
-                () -> new ResourceNotFoundException("No se encontró una categoría adecuada para la edad " + edadJugador +
-                        " para el deporte '" + deporte.getNombre() + "'.")));
+        // getReferenceById devuelve una referencia sin ejecutar un SELECT sobre categorias
+        jugador.setCategoria(categoriaRepository.getReferenceById(categoriaId));
     }
 }
\ No newline at end of file
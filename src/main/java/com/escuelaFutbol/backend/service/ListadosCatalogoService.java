@@ -0,0 +1,176 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Listados de deportes y categorías con sus listas de hijos (la respuesta por defecto de esos endpoints).
+ * Los deportes y categorías salen de los catálogos en caché y los jugadores de una sola consulta
+ * con IN sobre las categorías, así el número de consultas no depende de cuántos hijos haya.
+ * No abre una transacción propia: cada lectura de catálogo usa la suya (ver CacheConfig).
+ *
+ * Los catálogos salen de la caché, pero los jugadores no: armar uno de estos listados cuesta O(jugadores)
+ * en la base, en memoria y en el cuerpo de la respuesta. Por eso un listado que incluiría más de
+ * app.catalogo.maximo-jugadores jugadores se rechaza; las pantallas deben pedir los catálogos con conteos=true
+ * (que no leen jugadores) y recorrer los jugadores con GET /api/jugadores?limit=...
+ *
+ * Cada método devuelve un Listado sin armar: primero se mira su versión, que no lee jugadores,
+ * y solo si el cliente no la tiene se arma la respuesta.
+ */
+@Service
+public class ListadosCatalogoService {
+
+    private final DeporteService deporteService;
+    private final CategoriaService categoriaService;
+    private final JugadorRepository jugadorRepository;
+    private final CambioRepository cambioRepository;
+    private final int maximoJugadores;
+
+    public ListadosCatalogoService(DeporteService deporteService,
+                                   CategoriaService categoriaService,
+                                   JugadorRepository jugadorRepository,
+                                   CambioRepository cambioRepository,
+                                   @Value("${app.catalogo.maximo-jugadores}") int maximoJugadores) {
+        this.deporteService = deporteService;
+        this.categoriaService = categoriaService;
+        this.jugadorRepository = jugadorRepository;
+        this.cambioRepository = cambioRepository;
+        this.maximoJugadores = maximoJugadores;
+    }
+
+    /**
+     * Todos los deportes, cada uno con sus categorías (con jugadores) y los IDs de sus jugadores.
+     */
+    public Listado<List<DeporteDto>> deportes() {
+        List<DeporteDto> deportes = deporteService.findAll(false);
+        List<CategoriaDto> categorias = categoriaService.findAll(false);
+        return new Listado<>(version(deportes, categorias),
+                () -> conListas(deportes, conJugadores(categorias)));
+    }
+
+    /**
+     * Un deporte con sus categorías (con jugadores) y los IDs de sus jugadores.
+     */
+    public Optional<Listado<DeporteDto>> deporte(Long id) {
+        return deporteService.findById(id).map(deporte -> {
+            List<CategoriaDto> categorias = categoriaService.findByDeporteId(id, false);
+            return new Listado<>(version(List.of(deporte), categorias),
+                    () -> conListas(List.of(deporte), conJugadores(categorias)).get(0));
+        });
+    }
+
+    /**
+     * Todas las categorías, cada una con sus jugadores.
+     */
+    public Listado<List<CategoriaDto>> categorias() {
+        List<CategoriaDto> categorias = categoriaService.findAll(false);
+        return new Listado<>(version(List.of(), categorias), () -> conJugadores(categorias));
+    }
+
+    /**
+     * Las categorías de un deporte, cada una con sus jugadores.
+     * @throws com.escuelaFutbol.backend.exception.ResourceNotFoundException si el deporte no existe.
+     */
+    public Listado<List<CategoriaDto>> categoriasPorDeporte(Long deporteId) {
+        List<CategoriaDto> categorias = categoriaService.findByDeporteId(deporteId, false);
+        return new Listado<>(version(List.of(), categorias), () -> conJugadores(categorias));
+    }
+
+    // Última revisión del registro de cambios (toda escritura de deportes, categorías o jugadores la sube; es
+    // un max sobre la clave primaria) y las versiones del catálogo con que se va a armar el listado. Las versiones
+    // cubren el instante entre el commit de un cambio y la evicción de la caché: si el catálogo leído todavía era
+    // el anterior, la versión cambia igual en cuanto se vacía la caché.
+    // La revisión se lee antes que los jugadores y por la misma vía (la réplica, si hay), así los jugadores
+    // que se cargan después nunca son más viejos que ella.
+    private List<Long> version(List<DeporteDto> deportes, List<CategoriaDto> categorias) {
+        List<Long> version = new ArrayList<>();
+        version.add(cambioRepository.findUltimaRevision());
+        version.add((long) deportes.size());
+        for (DeporteDto deporte : deportes) {
+            version.add(deporte.id());
+            version.add(deporte.version());
+        }
+        version.add((long) categorias.size());
+        for (CategoriaDto categoria : categorias) {
+            version.add(categoria.id());
+            version.add(categoria.version());
+        }
+        return version;
+    }
+
+    // Se lee uno más que el máximo para saber si se pasa sin leer todos
+    private List<CategoriaDto> conJugadores(List<CategoriaDto> categorias) {
+        Map<Long, List<JugadorDto>> porCategoria = new HashMap<>();
+        for (CategoriaDto categoria : categorias) {
+            porCategoria.put(categoria.id(), new ArrayList<>());
+        }
+        if (!porCategoria.isEmpty()) {
+            List<JugadorDto> jugadores = jugadorRepository.findDtoByCategoriaIdIn(porCategoria.keySet(), Limit.of(maximoJugadores + 1));
+            if (jugadores.size() > maximoJugadores) {
+                throw new IllegalArgumentException("El listado incluiría más de " + maximoJugadores + " jugadores. "
+                        + "Pídalo con conteos=true y recorra los jugadores con GET /api/jugadores?limit=...");
+            }
+            for (JugadorDto jugador : jugadores) {
+                porCategoria.get(jugador.categoriaId()).add(jugador);
+            }
+        }
+        return categorias.stream()
+                .map(categoria -> categoria.conJugadores(porCategoria.get(categoria.id())))
+                .toList();
+    }
+
+    // Reparte las categorías (ya con jugadores) entre sus deportes; los IDs de jugadores quedan en orden ascendente
+    private static List<DeporteDto> conListas(List<DeporteDto> deportes, List<CategoriaDto> categorias) {
+        Map<Long, List<CategoriaDto>> categoriasPorDeporte = new HashMap<>();
+        Map<Long, List<Long>> jugadoresPorDeporte = new HashMap<>();
+        for (DeporteDto deporte : deportes) {
+            categoriasPorDeporte.put(deporte.id(), new ArrayList<>());
+            jugadoresPorDeporte.put(deporte.id(), new ArrayList<>());
+        }
+        for (CategoriaDto categoria : categorias) {
+            List<CategoriaDto> delDeporte = categoriasPorDeporte.get(categoria.deporteId());
+            if (delDeporte != null) {
+                delDeporte.add(categoria);
+            }
+            for (JugadorDto jugador : categoria.jugadores()) {
+                List<Long> ids = jugadoresPorDeporte.get(jugador.deporteId());
+                if (ids != null) {
+                    ids.add(jugador.id());
+                }
+            }
+        }
+        return deportes.stream()
+                .map(deporte -> {
+                    List<Long> ids = jugadoresPorDeporte.get(deporte.id());
+                    ids.sort(null);
+                    return deporte.conListas(categoriasPorDeporte.get(deporte.id()), ids);
+                })
+                .toList();
+    }
+
+    /**
+     * Un listado con su versión ya calculada y la respuesta todavía sin armar.
+     * armar() lanza IllegalArgumentException si incluiría más de app.catalogo.maximo-jugadores jugadores.
+     * @param version Valores que cambian siempre que cambia la respuesta (para el ETag).
+     * @param armado Carga los jugadores y arma la respuesta; se llama solo si hace falta responderla.
+     */
+    public record Listado<R>(List<Long> version, Supplier<R> armado) {
+
+        public R armar() {
+            return armado.get();
+        }
+    }
+}
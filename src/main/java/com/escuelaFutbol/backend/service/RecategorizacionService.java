@@ -0,0 +1,88 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.RecategorizacionResultado;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.repository.DeporteRepository;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recalcula la categoría de todos los jugadores según su edad actual.
+ * Las categorías solo se asignan al crear o editar un jugador, así que quien cumple años
+ * conserva una categoría vieja hasta que este proceso la corrige.
+ *
+ * El trabajo se hace con un UPDATE ... FROM categorias por deporte (una partición por deporte_id),
+ * nunca cargando y guardando jugador por jugador.
+ */
+@Service
+public class RecategorizacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecategorizacionService.class);
+
+    private final JugadorRepository jugadorRepository;
+    private final DeporteRepository deporteRepository;
+    private final ContadoresJugadores contadoresJugadores;
+    private final RegistroCambios registroCambios;
+    private final TransactionTemplate transaccion;
+
+    public RecategorizacionService(JugadorRepository jugadorRepository,
+                                   DeporteRepository deporteRepository,
+                                   ContadoresJugadores contadoresJugadores,
+                                   RegistroCambios registroCambios,
+                                   PlatformTransactionManager transactionManager) {
+        this.jugadorRepository = jugadorRepository;
+        this.deporteRepository = deporteRepository;
+        this.contadoresJugadores = contadoresJugadores;
+        this.registroCambios = registroCambios;
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ejecución programada. Por defecto corre todos los días a las 3:30, ya que la edad se calcula
+     * en años cumplidos y cualquier día alguien puede cambiar de rango. Se ajusta con app.recategorizacion.cron.
+     */
+    @Scheduled(cron = "${app.recategorizacion.cron:0 30 3 * * *}")
+    public void recategorizacionProgramada() {
+        RecategorizacionResultado resultado = recategorizar();
+        log.info("Recategorización programada: {} jugador(es) movido(s) en {} ms", resultado.totalMovidos(), resultado.duracionMs());
+    }
+
+    /**
+     * Recalcula las categorías de todos los deportes, un deporte por transacción.
+     * @return Cuántos jugadores cambiaron de categoría y cuánto tardó cada deporte.
+     */
+    public RecategorizacionResultado recategorizar() {
+        long inicio = System.nanoTime();
+        List<RecategorizacionResultado.Particion> particiones = new ArrayList<>();
+        long totalMovidos = 0;
+
+        for (Long deporteId : deporteRepository.findAllIds()) {
+            long inicioParticion = System.nanoTime();
+            // El UPDATE y su registro de cambios van juntos: o se confirman los dos o ninguno
+            List<JugadorRepository.CategoriaMovida> movidos = transaccion.execute(estado -> {
+                List<JugadorRepository.CategoriaMovida> filas = jugadorRepository.recategorizarPorDeporte(deporteId);
+                registroCambios.guardados(Cambio.Entidad.JUGADOR,
+                        filas.stream().map(JugadorRepository.CategoriaMovida::getJugadorId).toList());
+                return filas;
+            });
+            for (JugadorRepository.CategoriaMovida movido : movidos) {
+                contadoresJugadores.moverCategoria(movido.getCategoriaAnteriorId(), movido.getCategoriaNuevaId());
+            }
+            long duracionParticion = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioParticion);
+            particiones.add(new RecategorizacionResultado.Particion(deporteId, movidos.size(), duracionParticion));
+            totalMovidos += movidos.size();
+        }
+
+        long duracion = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        return new RecategorizacionResultado(totalMovidos, duracion, particiones);
+    }
+}
@@ -0,0 +1,73 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.EventoCambio;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Anota en la tabla cambios cada alta, modificación y baja de deportes, categorías y jugadores,
+ * para la sincronización incremental (GET /api/sync).
+ * Siempre corre dentro de la transacción del servicio que hizo el cambio: si esa transacción se deshace,
+ * la anotación también. Conviene llamarlo al final del método, porque desde aquí hasta el commit
+ * las demás escrituras esperan el bloqueo.
+ * Cada anotación publica además un CambiosRegistrados, que los oyentes reciben solo si la transacción se confirma
+ * (ver EventosCambios).
+ */
+@Service
+public class RegistroCambios {
+
+    // Clave del bloqueo de asesoría de PostgreSQL que ordena las escrituras en cambios
+    private static final long CLAVE_BLOQUEO = 0x4341_4D42_494FL; // "CAMBIO"
+
+    private final CambioRepository cambioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RegistroCambios(CambioRepository cambioRepository, ApplicationEventPublisher eventPublisher) {
+        this.cambioRepository = cambioRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void guardado(Cambio.Entidad entidad, Long id) {
+        registrar(entidad, List.of(id), Cambio.Operacion.GUARDADO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void guardados(Cambio.Entidad entidad, Collection<Long> ids) {
+        registrar(entidad, ids, Cambio.Operacion.GUARDADO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eliminado(Cambio.Entidad entidad, Long id) {
+        registrar(entidad, List.of(id), Cambio.Operacion.ELIMINADO);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eliminados(Cambio.Entidad entidad, Collection<Long> ids) {
+        registrar(entidad, ids, Cambio.Operacion.ELIMINADO);
+    }
+
+    private void registrar(Cambio.Entidad entidad, Collection<Long> ids, Cambio.Operacion operacion) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<CambioRepository.RevisionRegistrada> filas =
+                cambioRepository.registrar(CLAVE_BLOQUEO, entidad.name(), ids.toArray(Long[]::new), operacion.name());
+        eventPublisher.publishEvent(new CambiosRegistrados(filas.stream()
+                .map(fila -> new EventoCambio(entidad, fila.getEntidadId(), operacion, fila.getRevision()))
+                .toList()));
+    }
+
+    /**
+     * Evento con los cambios anotados por una llamada (uno por ID).
+     */
+    public record CambiosRegistrados(List<EventoCambio> cambios) {
+    }
+}
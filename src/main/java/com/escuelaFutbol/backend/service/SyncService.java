@@ -0,0 +1,111 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.dto.SyncRespuesta;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import com.escuelaFutbol.backend.repository.CategoriaRepository;
+import com.escuelaFutbol.backend.repository.DeporteRepository;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronización incremental a partir del registro de cambios.
+ * Varias revisiones de la misma entidad dentro del rango se resumen en su último estado: si quedó viva
+ * se envían sus datos actuales y si se eliminó, solo su ID.
+ */
+@Service
+public class SyncService {
+
+    private final CambioRepository cambioRepository;
+    private final DeporteRepository deporteRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final JugadorRepository jugadorRepository;
+
+    public SyncService(CambioRepository cambioRepository,
+                       DeporteRepository deporteRepository,
+                       CategoriaRepository categoriaRepository,
+                       JugadorRepository jugadorRepository) {
+        this.cambioRepository = cambioRepository;
+        this.deporteRepository = deporteRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.jugadorRepository = jugadorRepository;
+    }
+
+    /**
+     * Devuelve los cambios posteriores a una revisión.
+     * @param desde Última revisión que tiene el cliente (0 para traer todo).
+     * @param limite Máximo de filas del registro de cambios a procesar.
+     * @return Los datos actuales de lo guardado, los IDs de lo eliminado y la nueva revisión.
+     * @throws IllegalArgumentException si la revisión es negativa o posterior a la última registrada.
+     */
+    // Sin readOnly para que vaya a la primaria: el cliente trae revisiones que recibió por eventos apenas
+    // se confirmaron, y una réplica atrasada las rechazaría como posteriores a la última
+    @Transactional
+    public SyncRespuesta cambiosDesde(long desde, int limite) {
+        long ultima = cambioRepository.findUltimaRevision();
+        if (desde < 0 || desde > ultima) {
+            // Un cliente con una revisión del futuro viene de otra base (por ejemplo, restaurada): debe empezar de nuevo
+            throw new IllegalArgumentException("La revisión " + desde + " no existe (la última es " + ultima + "); sincronice desde 0.");
+        }
+        List<Cambio> cambios = cambioRepository.findByRevisionGreaterThanOrderByRevisionAsc(desde, Limit.of(limite));
+        long hasta = cambios.isEmpty() ? desde : cambios.get(cambios.size() - 1).getRevision();
+
+        // Último estado de cada entidad dentro del rango (los cambios vienen en orden de revisión)
+        Map<Cambio.Entidad, Map<Long, Cambio.Operacion>> ultimos = new EnumMap<>(Cambio.Entidad.class);
+        for (Cambio cambio : cambios) {
+            ultimos.computeIfAbsent(cambio.getEntidad(), e -> new LinkedHashMap<>())
+                   .put(cambio.getEntidadId(), cambio.getOperacion());
+        }
+
+        Resumen<DeporteDto> deportes = resumir(ultimos.get(Cambio.Entidad.DEPORTE),
+                ids -> deporteRepository.findDtoByIdIn(ids), DeporteDto::id);
+        Resumen<CategoriaDto> categorias = resumir(ultimos.get(Cambio.Entidad.CATEGORIA),
+                ids -> categoriaRepository.findDtoByIdIn(ids), CategoriaDto::id);
+        Resumen<JugadorDto> jugadores = resumir(ultimos.get(Cambio.Entidad.JUGADOR),
+                ids -> jugadorRepository.findDtoByIdIn(ids), JugadorDto::id);
+
+        return new SyncRespuesta(hasta, hasta < ultima,
+                deportes.guardados(), categorias.guardados(), jugadores.guardados(),
+                new SyncRespuesta.Eliminados(deportes.eliminados(), categorias.eliminados(), jugadores.eliminados()));
+    }
+
+    // Carga en una sola consulta los datos actuales de lo guardado. Si algo ya no existe (se eliminó después
+    // de la última revisión incluida) se informa como eliminado; su marca llegará en la próxima sincronización.
+    private static <T> Resumen<T> resumir(Map<Long, Cambio.Operacion> ultimos,
+                                          Function<Set<Long>, List<T>> cargar, Function<T, Long> id) {
+        if (ultimos == null) {
+            return new Resumen<>(List.of(), List.of());
+        }
+        Set<Long> guardados = ultimos.entrySet().stream()
+                .filter(e -> e.getValue() == Cambio.Operacion.GUARDADO)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        List<T> encontrados = guardados.isEmpty() ? List.of() : cargar.apply(guardados);
+
+        Set<Long> idsEncontrados = encontrados.stream().map(id).collect(Collectors.toSet());
+        List<Long> eliminados = new ArrayList<>();
+        ultimos.forEach((entidadId, operacion) -> {
+            if (!idsEncontrados.contains(entidadId)) {
+                eliminados.add(entidadId);
+            }
+        });
+        return new Resumen<>(encontrados, eliminados);
+    }
+
+    private record Resumen<T>(List<T> guardados, List<Long> eliminados) {
+    }
+}
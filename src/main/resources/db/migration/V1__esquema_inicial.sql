@@ -0,0 +1,84 @@
+-- Esquema base de deportes, categorías y jugadores.
+-- Es idempotente a propósito: en una base creada antes por ddl-auto=update (marcada con baseline-on-migrate
+-- en la versión 0) solo completa lo que falte y normaliza los nombres de las restricciones.
+
+CREATE TABLE IF NOT EXISTS deportes (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre      varchar(100) NOT NULL,
+    descripcion varchar(255),
+    version     bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categorias (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre      varchar(50) NOT NULL,
+    edad_minima integer NOT NULL,
+    edad_maxima integer NOT NULL,
+    descripcion varchar(255),
+    version     bigint DEFAULT 0 NOT NULL,
+    deporte_id  bigint NOT NULL
+);
+
+-- Los IDs de jugadores salen de jugadores_seq (optimizador pooled de Hibernate, bloques de 50)
+CREATE TABLE IF NOT EXISTS jugadores (
+    id                  bigint PRIMARY KEY,
+    nombre              varchar(100) NOT NULL,
+    apellido            varchar(100) NOT NULL,
+    documento_identidad varchar(20),
+    fecha_nacimiento    date NOT NULL,
+    telefono_contacto   varchar(20),
+    email_contacto      varchar(100),
+    foto_url            varchar(255),
+    version             bigint DEFAULT 0 NOT NULL,
+    categoria_id        bigint NOT NULL,
+    deporte_id          bigint NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS jugadores_seq INCREMENT BY 50;
+
+-- Bases anteriores a las columnas de versión
+ALTER TABLE deportes ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE categorias ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE jugadores ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+-- La secuencia nunca retrocede: queda por encima del mayor ID existente (bases que usaban IDENTITY)
+SELECT setval('jugadores_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM jugadores) + 50,
+                                        (SELECT last_value FROM jugadores_seq)));
+
+-- Restricciones con nombre fijo (ver RestriccionesBd). Primero se eliminan las únicas y foráneas con nombres
+-- autogenerados por Hibernate en estas tablas y luego se crean las que falten con el nombre esperado.
+-- Si hay datos duplicados (por ejemplo dos categorías con el mismo nombre en un deporte) la migración falla
+-- y hay que corregirlos a mano antes de arrancar.
+DO $$
+DECLARE
+    r record;
+BEGIN
+    FOR r IN SELECT c.conname, c.conrelid::regclass AS tabla
+             FROM pg_constraint c
+             WHERE c.contype IN ('u', 'f')
+               AND c.conrelid IN ('deportes'::regclass, 'categorias'::regclass, 'jugadores'::regclass)
+               AND c.conname NOT IN ('uk_deportes_nombre', 'uk_categorias_deporte_nombre', 'uk_jugadores_documento',
+                                     'fk_categorias_deporte', 'fk_jugadores_categoria', 'fk_jugadores_deporte')
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', r.tabla, r.conname);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_deportes_nombre') THEN
+        ALTER TABLE deportes ADD CONSTRAINT uk_deportes_nombre UNIQUE (nombre);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_categorias_deporte_nombre') THEN
+        ALTER TABLE categorias ADD CONSTRAINT uk_categorias_deporte_nombre UNIQUE (deporte_id, nombre);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_jugadores_documento') THEN
+        ALTER TABLE jugadores ADD CONSTRAINT uk_jugadores_documento UNIQUE (documento_identidad);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_categorias_deporte') THEN
+        ALTER TABLE categorias ADD CONSTRAINT fk_categorias_deporte FOREIGN KEY (deporte_id) REFERENCES deportes (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_jugadores_categoria') THEN
+        ALTER TABLE jugadores ADD CONSTRAINT fk_jugadores_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_jugadores_deporte') THEN
+        ALTER TABLE jugadores ADD CONSTRAINT fk_jugadores_deporte FOREIGN KEY (deporte_id) REFERENCES deportes (id);
+    END IF;
+END $$;
@@ -0,0 +1,10 @@
+-- Índices para las consultas más frecuentes. PostgreSQL no indexa las claves foráneas por su cuenta.
+
+-- countByCategoria, el borrado de categorías y los conteos por categoría
+CREATE INDEX IF NOT EXISTS idx_jugadores_categoria ON jugadores (categoria_id);
+
+-- countByDeporte, la recategorización por deporte y los conteos por deporte
+CREATE INDEX IF NOT EXISTS idx_jugadores_deporte ON jugadores (deporte_id);
+
+-- findByDeporte / findDtoByDeporteId (filtra por deporte y ordena por edad mínima) y la carga de rangos de edad
+CREATE INDEX IF NOT EXISTS idx_categorias_deporte_edades ON categorias (deporte_id, edad_minima, edad_maxima);
@@ -0,0 +1,20 @@
+-- Búsqueda de jugadores por nombre, apellido y documento, sin distinguir acentos ni mayúsculas.
+-- Antes se ejecutaba en cada arranque (spring.sql.init); las sentencias siguen siendo idempotentes
+-- para las bases que ya tenían estas funciones e índice.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() es STABLE y no puede usarse en un índice; este envoltorio fija el diccionario y se declara IMMUTABLE
+CREATE OR REPLACE FUNCTION f_unaccent(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+-- Texto normalizado sobre el que se busca; la consulta y el índice deben usar exactamente esta expresión
+CREATE OR REPLACE FUNCTION jugador_texto_busqueda(nombre text, apellido text, documento text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$ SELECT f_unaccent(lower(nombre || ' ' || apellido || ' ' || coalesce(documento, ''))) $$;
+
+-- Índice de trigramas: sirve para LIKE '%texto%', prefijos y similitud por palabra (operador <%)
+CREATE INDEX IF NOT EXISTS idx_jugadores_busqueda_trgm
+    ON jugadores USING gin (jugador_texto_busqueda(nombre, apellido, documento_identidad) gin_trgm_ops);
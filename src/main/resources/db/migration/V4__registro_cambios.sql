@@ -0,0 +1,17 @@
+-- Registro de cambios para la sincronización incremental (GET /api/sync?since=<revision>).
+-- Cada alta, modificación o baja de un deporte, categoría o jugador agrega una fila con una revisión creciente;
+-- las bajas quedan como marca (operacion = 'ELIMINADO') aunque la fila original ya no exista.
+-- Las filas se insertan bajo un bloqueo de asesoría de la transacción (ver RegistroCambios), así las revisiones
+-- se confirman en orden y un cliente nunca salta una revisión que todavía no se había confirmado.
+CREATE TABLE cambios (
+    revision   bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    entidad    varchar(20) NOT NULL,
+    entidad_id bigint      NOT NULL,
+    operacion  varchar(20) NOT NULL,
+    fecha      timestamp with time zone NOT NULL DEFAULT now()
+);
+
+-- Los datos que ya existían entran como primeras revisiones, así since=0 equivale a una descarga completa
+INSERT INTO cambios (entidad, entidad_id, operacion) SELECT 'DEPORTE', id, 'GUARDADO' FROM deportes ORDER BY id;
+INSERT INTO cambios (entidad, entidad_id, operacion) SELECT 'CATEGORIA', id, 'GUARDADO' FROM categorias ORDER BY id;
+INSERT INTO cambios (entidad, entidad_id, operacion) SELECT 'JUGADOR', id, 'GUARDADO' FROM jugadores ORDER BY id;
@@ -0,0 +1,6 @@
+-- La función del índice de búsqueda llamaba a f_unaccent sin esquema. Quien escribe en jugadores con un
+-- search_path vacío (los workers de replicación lógica, pg_restore) no la encuentra y falla al calcular el índice.
+-- Devuelve exactamente lo mismo que antes, así que el índice idx_jugadores_busqueda_trgm sigue siendo válido.
+CREATE OR REPLACE FUNCTION jugador_texto_busqueda(nombre text, apellido text, documento text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$ SELECT public.f_unaccent(lower(nombre || ' ' || apellido || ' ' || coalesce(documento, ''))) $$;
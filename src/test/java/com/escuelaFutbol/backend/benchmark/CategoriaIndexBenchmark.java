@@ -0,0 +1,81 @@
+package com.escuelaFutbol.backend.benchmark;
+
+import com.escuelaFutbol.backend.service.CategoriaIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolución de la categoría de un jugador por edad, tal como la hace JugadorService.asignarCategoriaPorEdad:
+ * cálculo de la edad con Period.between y búsqueda en el CategoriaIndex.
+ * Cada invocación resuelve un lote de JUGADORES, así el resultado es el costo por jugador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoriaIndexBenchmark {
+
+    private static final int JUGADORES = 1000;
+
+    @Param({"1", "5", "20"})
+    public int deportes;
+
+    @Param({"6", "12"})
+    public int categoriasPorDeporte;
+
+    private CategoriaIndex categoriaIndex;
+    private LocalDate hoy;
+    private LocalDate[] fechasNacimiento;
+    private long[] deporteIds;
+    private int[] edades;
+
+    @Setup
+    public void preparar() {
+        // Sin repositorio: el índice se carga directamente con reemplazar(..) y nunca consulta la base
+        categoriaIndex = new CategoriaIndex(null, null);
+        categoriaIndex.reemplazar(DatosBenchmark.rangos(deportes, categoriasPorDeporte));
+
+        hoy = LocalDate.now();
+        fechasNacimiento = DatosBenchmark.fechasNacimiento(JUGADORES, categoriasPorDeporte, hoy);
+        deporteIds = DatosBenchmark.deporteIds(JUGADORES, deportes);
+        edades = new int[JUGADORES];
+        for (int i = 0; i < JUGADORES; i++) {
+            edades[i] = Period.between(fechasNacimiento[i], hoy).getYears();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JUGADORES)
+    public void asignarCategoriaPorEdad(Blackhole blackhole) {
+        for (int i = 0; i < JUGADORES; i++) {
+            int edad = Period.between(fechasNacimiento[i], hoy).getYears();
+            blackhole.consume(categoriaIndex.buscarCategoriaId(deporteIds[i], edad));
+        }
+    }
+
+    // Solo la búsqueda en el índice, con la edad ya calculada
+    @Benchmark
+    @OperationsPerInvocation(JUGADORES)
+    public void buscarCategoriaId(Blackhole blackhole) {
+        for (int i = 0; i < JUGADORES; i++) {
+            blackhole.consume(categoriaIndex.buscarCategoriaId(deporteIds[i], edades[i]));
+        }
+    }
+}
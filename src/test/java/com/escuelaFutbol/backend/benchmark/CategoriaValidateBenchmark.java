@@ -0,0 +1,56 @@
+package com.escuelaFutbol.backend.benchmark;
+
+import com.escuelaFutbol.backend.entity.Categoria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categoria.validate() sobre colecciones de categorías. Con porcentajeInvalidas > 0 también se mide
+ * el costo de crear y capturar la IllegalArgumentException (incluida su traza).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoriaValidateBenchmark {
+
+    @Param({"100", "1000"})
+    public int categorias;
+
+    @Param({"0", "10"})
+    public int porcentajeInvalidas;
+
+    private Categoria[] datos;
+
+    @Setup
+    public void preparar() {
+        datos = DatosBenchmark.categoriasParaValidar(categorias, porcentajeInvalidas);
+    }
+
+    // Devuelve cuántas fallaron para que el JIT no descarte el trabajo
+    @Benchmark
+    public int validar() {
+        int invalidas = 0;
+        for (Categoria categoria : datos) {
+            try {
+                categoria.validate();
+            } catch (IllegalArgumentException e) {
+                invalidas++;
+            }
+        }
+        return invalidas;
+    }
+}
@@ -0,0 +1,131 @@
+package com.escuelaFutbol.backend.benchmark;
+
+import com.escuelaFutbol.backend.dto.CategoriaRango;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.entity.Categoria;
+import com.escuelaFutbol.backend.entity.Deporte;
+import com.escuelaFutbol.backend.entity.Jugador;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos de prueba compartidos por los benchmarks, con tamaños parecidos a los de un club real:
+ * categorías de dos años de edad a partir de los 4 años y jugadores con fechas de nacimiento repartidas
+ * entre esas categorías. Se generan con una semilla fija para que las corridas sean comparables.
+ */
+public final class DatosBenchmark {
+
+    public static final int EDAD_INICIAL = 4;
+    public static final int ANIOS_POR_CATEGORIA = 2;
+
+    private static final long SEMILLA = 20240601L;
+
+    private DatosBenchmark() { }
+
+    /**
+     * Rangos contiguos de edad para varios deportes, con IDs de categoría únicos entre deportes.
+     */
+    public static List<CategoriaRango> rangos(int deportes, int categoriasPorDeporte) {
+        List<CategoriaRango> rangos = new ArrayList<>(deportes * categoriasPorDeporte);
+        long categoriaId = 1;
+        for (long deporteId = 1; deporteId <= deportes; deporteId++) {
+            for (int i = 0; i < categoriasPorDeporte; i++) {
+                int edadMinima = EDAD_INICIAL + i * ANIOS_POR_CATEGORIA;
+                rangos.add(new CategoriaRango(categoriaId++, deporteId, edadMinima, edadMinima + ANIOS_POR_CATEGORIA - 1));
+            }
+        }
+        return rangos;
+    }
+
+    /**
+     * Fechas de nacimiento al azar que caen dentro de las categorías generadas por rangos(..).
+     */
+    public static LocalDate[] fechasNacimiento(int cantidad, int categoriasPorDeporte, LocalDate hoy) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        int diasCubiertos = categoriasPorDeporte * ANIOS_POR_CATEGORIA * 365;
+        LocalDate masJoven = hoy.minusYears(EDAD_INICIAL);
+        LocalDate[] fechas = new LocalDate[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            fechas[i] = masJoven.minusDays(random.nextInt(diasCubiertos));
+        }
+        return fechas;
+    }
+
+    /**
+     * IDs de deporte al azar entre 1 y deportes.
+     */
+    public static long[] deporteIds(int cantidad, int deportes) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + 1);
+        long[] ids = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            ids[i] = 1 + random.nextInt(deportes);
+        }
+        return ids;
+    }
+
+    /**
+     * Grafo completo de un deporte: sus categorías y sus jugadores, con las dos relaciones
+     * (deporte-jugadores y categoria-jugadores) enlazadas en ambos sentidos como las deja Hibernate.
+     */
+    public static Deporte deporteConJugadores(int categorias, int jugadores) {
+        Deporte deporte = new Deporte("Fútbol", "Escuela de fútbol infantil y juvenil");
+        deporte.setId(1L);
+        deporte.setCategorias(new ArrayList<>(categorias));
+        deporte.setJugadores(new ArrayList<>(jugadores));
+
+        for (int i = 0; i < categorias; i++) {
+            int edadMinima = EDAD_INICIAL + i * ANIOS_POR_CATEGORIA;
+            Categoria categoria = new Categoria("Sub-" + (edadMinima + ANIOS_POR_CATEGORIA), edadMinima,
+                    edadMinima + ANIOS_POR_CATEGORIA - 1, "Categoría de " + edadMinima + " a "
+                    + (edadMinima + ANIOS_POR_CATEGORIA - 1) + " años", deporte);
+            categoria.setId((long) i + 1);
+            categoria.setJugadores(new ArrayList<>(jugadores / categorias + 1));
+            deporte.getCategorias().add(categoria);
+        }
+
+        LocalDate hoy = LocalDate.now();
+        LocalDate[] fechas = fechasNacimiento(jugadores, categorias, hoy);
+        for (int i = 0; i < jugadores; i++) {
+            Categoria categoria = deporte.getCategorias().get(i % categorias);
+            Jugador jugador = new Jugador("Nombre" + i, "Apellido" + i, String.valueOf(10_000_000L + i), fechas[i],
+                    "300" + (1_000_000 + i), "familia" + i + "@correo.com", "/api/fotos/" + i + ".jpg",
+                    categoria, deporte);
+            jugador.setId((long) i + 1);
+            categoria.getJugadores().add(jugador);
+            deporte.getJugadores().add(jugador);
+        }
+        return deporte;
+    }
+
+    /**
+     * Los jugadores del grafo como vistas planas, tal como las devuelve la consulta de GET /api/jugadores.
+     */
+    public static List<JugadorDto> jugadoresDto(List<Jugador> jugadores) {
+        List<JugadorDto> dtos = new ArrayList<>(jugadores.size());
+        for (Jugador j : jugadores) {
+            dtos.add(new JugadorDto(j.getId(), j.getNombre(), j.getApellido(), j.getDocumentoIdentidad(),
+                    j.getFechaNacimiento(), j.getTelefonoContacto(), j.getEmailContacto(), j.getFotoUrl(),
+                    j.getCategoria().getId(), j.getCategoria().getNombre(), j.getDeporte().getId(),
+                    j.getDeporte().getNombre(), 0L));
+        }
+        return dtos;
+    }
+
+    /**
+     * Categorías sueltas (sin deporte ni jugadores) para medir validaciones.
+     * @param porcentajeInvalidas Porcentaje aproximado de categorías con la edad mínima mayor que la máxima.
+     */
+    public static Categoria[] categoriasParaValidar(int cantidad, int porcentajeInvalidas) {
+        SplittableRandom random = new SplittableRandom(SEMILLA + 2);
+        Categoria[] categorias = new Categoria[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            int edadMinima = EDAD_INICIAL + random.nextInt(14);
+            int edadMaxima = random.nextInt(100) < porcentajeInvalidas ? edadMinima - 1 : edadMinima + 1;
+            categorias[i] = new Categoria("Sub-" + (edadMaxima + 1), edadMinima, edadMaxima, null, null);
+        }
+        return categorias;
+    }
+}
@@ -0,0 +1,84 @@
+package com.escuelaFutbol.backend.benchmark;
+
+import com.escuelaFutbol.backend.exception.GlobalExceptionHandler;
+import com.escuelaFutbol.backend.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción del cuerpo de error en GlobalExceptionHandler, con y sin su serialización a JSON.
+ * Las excepciones se crean una sola vez: aquí se mide el manejador, no el costo de lanzar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private WebRequest request;
+    private ResourceNotFoundException noEncontrado;
+    private IllegalArgumentException invalido;
+    private IllegalStateException conflicto;
+    private RuntimeException inesperado;
+
+    @Setup
+    public void preparar() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/jugadores/12345"));
+        noEncontrado = new ResourceNotFoundException("Jugador no encontrado con ID: 12345");
+        invalido = new IllegalArgumentException("La edad mínima no puede ser mayor que la edad máxima.");
+        conflicto = new IllegalStateException("No se puede eliminar la categoría porque tiene jugadores asociados.");
+        inesperado = new RuntimeException("Error inesperado");
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> noEncontrado() {
+        return handler.handleResourceNotFoundException(noEncontrado, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> peticionInvalida() {
+        return handler.handleIllegalArgumentException(invalido, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> conflicto() {
+        return handler.handleIllegalStateException(conflicto, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> errorGenerico() {
+        return handler.handleGenericException(inesperado, request);
+    }
+
+    // Lo que realmente paga cada respuesta de error: construir el cuerpo y escribirlo como JSON
+    @Benchmark
+    public byte[] peticionInvalidaSerializada() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleIllegalArgumentException(invalido, request).getBody());
+    }
+}
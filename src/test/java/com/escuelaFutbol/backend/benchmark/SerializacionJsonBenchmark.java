@@ -0,0 +1,93 @@
+package com.escuelaFutbol.backend.benchmark;
+
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.entity.Categoria;
+import com.escuelaFutbol.backend.entity.Deporte;
+import com.escuelaFutbol.backend.entity.Jugador;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson del grafo de entidades (deporte, categorías y jugadores), incluyendo
+ * el costo de @JsonIdentityInfo y de las referencias @JsonManagedReference/@JsonBackReference.
+ * Los controladores ya no devuelven este grafo sino DTOs; queda como referencia frente a listaJugadoresDto.
+ * Con blackbird=true se registra el mismo BlackbirdModule que usa la aplicación (JacksonConfig).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionJsonBenchmark {
+
+    private static final int CATEGORIAS = 8;
+
+    @Param({"100", "1000", "10000"})
+    public int jugadores;
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private Deporte deporte;
+    private List<Categoria> categorias;
+    private List<Jugador> listaJugadores;
+    private List<JugadorDto> listaJugadoresDto;
+
+    @Setup
+    public void preparar() {
+        // Misma configuración base que el ObjectMapper que arma Spring Boot
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        deporte = DatosBenchmark.deporteConJugadores(CATEGORIAS, jugadores);
+        categorias = deporte.getCategorias();
+        listaJugadores = deporte.getJugadores();
+        listaJugadoresDto = DatosBenchmark.jugadoresDto(listaJugadores);
+    }
+
+    // Un Deporte con sus colecciones cargadas: deporte -> categorías -> jugadores y deporte -> jugadores
+    @Benchmark
+    public byte[] deporteConGrafo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(deporte);
+    }
+
+    // Las entidades Categoria con los jugadores de cada una cargados
+    @Benchmark
+    public byte[] categoriasConJugadores() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(categorias);
+    }
+
+    // Lista plana de entidades (como salía antes GET /api/jugadores): las back-references no se serializan
+    @Benchmark
+    public byte[] listaJugadores() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listaJugadores);
+    }
+
+    // GET /api/jugadores: la misma lista como JugadorDto, sin @JsonIdentityInfo
+    @Benchmark
+    public byte[] listaJugadoresDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listaJugadoresDto);
+    }
+}
@@ -0,0 +1,768 @@
+package com.escuelaFutbol.backend.carga;
+
+import com.escuelaFutbol.backend.dto.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Escenario de carga contra una instancia ya levantada de la aplicación.
+ * Cada cliente es un hilo virtual que repite peticiones sin pausa hasta que se acaba el tiempo. Las peticiones
+ * recorren todos los endpoints: un porcentaje son escrituras (escrituras=10 por defecto) y el resto lecturas,
+ * y dentro de cada grupo cada endpoint tiene un peso fijo (ver operaciones()). Aparte, unos pocos suscriptores
+ * (suscriptores=10) escuchan GET /api/eventos/stream durante la corrida. Al final imprime throughput y
+ * latencias (p50, p99, p999, máx.) por endpoint y del total.
+ *
+ * Para comparar los dos modos, levantar la aplicación con spring.threads.virtual.enabled=true y luego =false
+ * y correr el mismo escenario:
+ *   mvn -Pcarga test-compile exec:exec -Dcarga.args="clientes=2000 segundos=60"
+ *
+ * Con ruta=... todos los clientes piden solo esa ruta (GET), para medir un endpoint aislado:
+ *   mvn -Pcarga test-compile exec:exec -Dcarga.args="clientes=50 segundos=30 ruta=/api/jugadores?limit=500"
+ *
+ * Con jugadores=N antes de medir se cargan datos por la API (deportes=3 y categorias=6 por deporte si no se indica);
+ * si no, necesita al menos un deporte con categorías cargado. PruebaCargaLocal arma todo esto sin una instancia
+ * aparte. Con 2000 clientes hacen falta más de 2000 descriptores de archivo en ambos procesos (ulimit -n).
+ *
+ * Las escrituras solo tocan lo que crea el mismo cliente (jugadores, y deportes y categorías temporales), salvo
+ * la subida de fotos, la reasignación de categoría y la recategorización, que trabajan sobre los datos cargados.
+ * Así ninguna lectura se encuentra con un 404 por algo que borró otro cliente.
+ */
+public class EscenarioCarga {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String[] NOMBRES = {"Mateo", "Valentina", "Santiago", "Isabella", "Sebastián", "Sofía",
+            "Matías", "Camila", "Nicolás", "Mariana", "Samuel", "Lucía", "Martín", "Daniela", "Tomás", "Gabriela"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "Martínez", "López", "González", "Pérez",
+            "Sánchez", "Ramírez", "Torres", "Flores", "Rivera", "Gómez", "Díaz", "Vargas", "Castro", "Morales"};
+    // Edades de los jugadores cargados; las categorías cargadas cubren este rango sin huecos
+    private static final int EDAD_MINIMA = 4;
+    private static final int EDAD_MAXIMA = 20;
+    private static final int TAMANO_LOTE_SIEMBRA = 1000;
+    private static final int JUGADORES_CON_FOTO = 20;
+    private static final int PAGINAS_PREPARACION = 10;
+    private static final int IDS_POR_PETICION = 20;
+    private static final int FILAS_POR_LOTE = 20;
+
+    private final String url;
+    private final int clientes;
+    private final Duration calentamiento;
+    private final Duration duracion;
+    private final String ruta;
+    private final int porcentajeEscrituras;
+    private final int suscriptores;
+    private final HttpClient http;
+    // Identifica las altas de esta corrida, para que sus documentos y nombres no choquen con los de otra
+    private final String prefijo = Long.toString(System.currentTimeMillis() % 100_000_000, 36);
+
+    private final List<Long> jugadorIds = new ArrayList<>();
+    private final List<Long> jugadoresConFoto = new ArrayList<>();
+    private final List<String> fotos = new ArrayList<>();
+    private final List<Long> deporteIds = new ArrayList<>();
+    private final List<JsonNode> categorias = new ArrayList<>();
+    private final List<byte[]> imagenes = new ArrayList<>();
+    private long revisionInicial;
+
+    private final List<Operacion> operaciones = new ArrayList<>();
+    private final List<Operacion> lecturas = new ArrayList<>();
+    private final List<Operacion> escrituras = new ArrayList<>();
+    private final AtomicLong altas = new AtomicLong();
+    private final AtomicLong eventos = new AtomicLong();
+    private final AtomicLong reconexiones = new AtomicLong();
+
+    public EscenarioCarga(String url, int clientes, Duration calentamiento, Duration duracion, String ruta,
+                          int porcentajeEscrituras, int suscriptores) {
+        if (porcentajeEscrituras < 0 || porcentajeEscrituras > 100) {
+            throw new IllegalArgumentException("escrituras debe estar entre 0 y 100: " + porcentajeEscrituras);
+        }
+        this.url = url;
+        this.clientes = clientes;
+        this.calentamiento = calentamiento;
+        this.duracion = duracion;
+        this.ruta = ruta;
+        this.porcentajeEscrituras = ruta != null ? 0 : porcentajeEscrituras;
+        this.suscriptores = ruta != null ? 0 : suscriptores;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        operaciones();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = opciones(args);
+        EscenarioCarga escenario = desdeOpciones(opciones, "http://localhost:8080");
+        if (opciones.containsKey("jugadores")) {
+            escenario.sembrar(opciones);
+        }
+        escenario.preparar();
+        Resultado resultado = escenario.ejecutar();
+        System.out.println(resultado);
+    }
+
+    static EscenarioCarga desdeOpciones(Map<String, String> opciones, String urlPorDefecto) {
+        return new EscenarioCarga(
+                opciones.getOrDefault("url", urlPorDefecto),
+                Integer.parseInt(opciones.getOrDefault("clientes", "2000")),
+                Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("calentamiento", "10"))),
+                Duration.ofSeconds(Long.parseLong(opciones.getOrDefault("segundos", "60"))),
+                opciones.get("ruta"),
+                Integer.parseInt(opciones.getOrDefault("escrituras", "10")),
+                Integer.parseInt(opciones.getOrDefault("suscriptores", "10")));
+    }
+
+    void sembrar(Map<String, String> opciones) throws IOException, InterruptedException {
+        sembrar(Integer.parseInt(opciones.getOrDefault("deportes", "3")),
+                Integer.parseInt(opciones.getOrDefault("categorias", "6")),
+                Integer.parseInt(opciones.getOrDefault("jugadores", "20000")));
+    }
+
+    /**
+     * Carga datos por la API: deportes con categorías que cubren de 4 a 20 años sin huecos, jugadores repartidos
+     * entre los deportes (en lotes de POST /api/jugadores/batch) y la foto de algunos de ellos.
+     */
+    public void sembrar(int deportes, int categoriasPorDeporte, int jugadores) throws IOException, InterruptedException {
+        if (deportes < 1 || categoriasPorDeporte < 1 || jugadores < 0) {
+            throw new IllegalArgumentException("Se necesita al menos un deporte con una categoría.");
+        }
+        long inicio = System.nanoTime();
+        List<Long> nuevosDeportes = new ArrayList<>(deportes);
+        int rango = EDAD_MAXIMA - EDAD_MINIMA + 1;
+        int ancho = Math.max(1, (rango + categoriasPorDeporte - 1) / categoriasPorDeporte);
+        for (int d = 1; d <= deportes; d++) {
+            ObjectNode deporte = MAPPER.createObjectNode()
+                    .put("nombre", "Deporte " + d + " " + prefijo)
+                    .put("descripcion", "Cargado para la prueba de carga");
+            long deporteId = creado(enviar("POST", "/api/deportes", deporte)).path("id").asLong();
+            nuevosDeportes.add(deporteId);
+            for (int minima = EDAD_MINIMA; minima <= EDAD_MAXIMA; minima += ancho) {
+                int maxima = Math.min(minima + ancho - 1, EDAD_MAXIMA);
+                ObjectNode categoria = MAPPER.createObjectNode()
+                        .put("nombre", "Sub-" + (maxima + 1))
+                        .put("edadMinima", minima)
+                        .put("edadMaxima", maxima);
+                creado(enviar("POST", "/api/categorias?deporteId=" + deporteId, categoria));
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int desde = 0; desde < jugadores; desde += TAMANO_LOTE_SIEMBRA) {
+            ArrayNode lote = MAPPER.createArrayNode();
+            for (int i = desde; i < Math.min(desde + TAMANO_LOTE_SIEMBRA, jugadores); i++) {
+                lote.add(jugador(random, "S" + prefijo + "-" + i)
+                        .put("deporteId", nuevosDeportes.get(i % deportes)));
+            }
+            HttpResponse<String> respuesta = enviar("POST", "/api/jugadores/batch", lote);
+            esperarOk(respuesta);
+            for (JsonNode fila : MAPPER.readTree(respuesta.body())) {
+                if (!"CREADO".equals(fila.path("estado").asText())) {
+                    throw new IllegalStateException("No se pudo cargar un jugador: " + fila.path("error").asText());
+                }
+            }
+            if ((desde / TAMANO_LOTE_SIEMBRA) % 20 == 19) {
+                System.out.printf("  %d de %d jugadores cargados%n", desde + lote.size(), jugadores);
+            }
+        }
+
+        JsonNode primeros = leer("/api/jugadores?limit=" + JUGADORES_CON_FOTO);
+        int i = 0;
+        for (JsonNode jugador : primeros.path("items")) {
+            esperarOk(subirFoto(jugador.path("id").asLong(), imagen(i++)));
+        }
+        System.out.printf("Carga inicial: deportes=%d categorias=%d (por deporte) jugadores=%d en %ds%n",
+                deportes, (rango + ancho - 1) / ancho, jugadores, Duration.ofNanos(System.nanoTime() - inicio).toSeconds());
+    }
+
+    /**
+     * Lee los IDs de jugadores, las fotos, los deportes y las categorías existentes para armar las peticiones,
+     * y la revisión actual del registro de cambios (para GET /api/sync).
+     */
+    public void preparar() throws IOException, InterruptedException {
+        String cursor = null;
+        for (int pagina = 0; pagina < PAGINAS_PREPARACION; pagina++) {
+            JsonNode respuesta = leer("/api/jugadores?limit=500" + (cursor != null ? "&cursor=" + cursor : ""));
+            for (JsonNode jugador : respuesta.path("items")) {
+                jugadorIds.add(jugador.path("id").asLong());
+                String fotoUrl = jugador.path("fotoUrl").asText("");
+                if (fotoUrl.startsWith("/api/fotos/")) {
+                    jugadoresConFoto.add(jugador.path("id").asLong());
+                    fotos.add(fotoUrl);
+                    fotos.add(fotoUrl.substring(0, fotoUrl.lastIndexOf('.')) + "-160.jpg");
+                }
+            }
+            cursor = respuesta.path("nextCursor").asText(null);
+            if (cursor == null) {
+                break;
+            }
+        }
+        // Con conteos: sin ellos cada deporte y categoría trae la lista completa de sus jugadores
+        leer("/api/deportes?conteos=true").forEach(deporte -> deporteIds.add(deporte.path("id").asLong()));
+        leer("/api/categorias?conteos=true").forEach(categorias::add);
+        if (categorias.isEmpty()) {
+            throw new IllegalStateException("No hay categorías cargadas en " + url + "; el escenario necesita al menos una.");
+        }
+        revisionInicial = revisionActual();
+    }
+
+    /**
+     * Lanza los clientes y los suscriptores de eventos, descarta las mediciones del calentamiento
+     * y junta las del resto del tiempo.
+     */
+    public Resultado ejecutar() throws InterruptedException {
+        long inicioMedicion = System.nanoTime() + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+        List<Cliente> porCliente = new ArrayList<>(clientes);
+        // Los suscriptores no se esperan al final: cada uno suelta su conexión al leer la siguiente línea
+        // (a lo sumo un latido después) y, como todo hilo virtual, no impide que termine la JVM
+        for (int i = 0; i < suscriptores; i++) {
+            Thread.ofVirtual().name("carga-eventos").start(() -> escuchar(fin));
+        }
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                Cliente cliente = new Cliente();
+                porCliente.add(cliente);
+                ejecutor.submit(() -> cliente.correr(inicioMedicion, fin));
+            }
+        }
+        return Resultado.de(clientes, duracion, operaciones, porCliente, eventos.get(), reconexiones.get());
+    }
+
+    // Mezcla de peticiones. Los pesos son relativos dentro de cada grupo (lecturas o escrituras)
+    private void operaciones() {
+        if (ruta != null) {
+            operacion(false, "GET " + ruta, 1, cliente -> getDescartando(ruta));
+            return;
+        }
+        Operacion detalle = operacion(false, "GET /api/jugadores/{id}", 25,
+                cliente -> getDescartando("/api/jugadores/" + alAzar(jugadorIds)));
+        operacion(false, "GET /api/jugadores?ids", 8, cliente -> getDescartando("/api/jugadores?ids=" + variosIds()));
+        operacion(false, "POST /api/jugadores/por-ids", 2,
+                cliente -> enviar("POST", "/api/jugadores/por-ids", MAPPER.readTree("[" + variosIds() + "]")).statusCode());
+        operacion(false, "GET /api/jugadores?limit", 12, cliente -> getDescartando("/api/jugadores?limit=50&cursor="
+                + CursorPage.encodeCursor(alAzar(jugadorIds))));
+        operacion(false, "GET /api/jugadores/search", 8, cliente -> getDescartando("/api/jugadores/search?q="
+                + sinAcentos(alAzar(APELLIDOS).substring(0, 4))));
+        operacion(false, "GET /api/jugadores", 1, cliente -> getDescartando("/api/jugadores"));
+        operacion(false, "GET /api/jugadores/export", 1, cliente -> getDescartando("/api/jugadores/export"));
+        operacion(false, "GET /api/jugadores/{id}/foto", 2, cliente -> !jugadoresConFoto.isEmpty(), detalle,
+                cliente -> getDescartando("/api/jugadores/" + alAzar(jugadoresConFoto) + "/foto?tam=160"));
+        operacion(false, "GET /api/fotos/{archivo}", 4, cliente -> !fotos.isEmpty(), detalle,
+                cliente -> getDescartando(alAzar(fotos)));
+        // Los listados de catálogos como los pide una pantalla (con conteos); el detalle de un deporte trae además
+        // sus jugadores. El listado por defecto con todos los jugadores no es una lectura de pantalla (con jugadores=20000
+        // pasa de app.catalogo.maximo-jugadores y responde 400), así que no entra en la mezcla
+        operacion(false, "GET /api/deportes?conteos", 5, cliente -> getDescartando("/api/deportes?conteos=true"));
+        operacion(false, "GET /api/deportes/{id}", 2, cliente -> getDescartando("/api/deportes/" + alAzar(deporteIds)));
+        operacion(false, "GET /api/categorias?conteos", 6, cliente -> getDescartando("/api/categorias?conteos=true"));
+        operacion(false, "GET /api/categorias/{id}", 3,
+                cliente -> getDescartando("/api/categorias/" + alAzar(categorias).path("id").asLong()));
+        operacion(false, "GET /api/categorias/by-deporte/{id}", 4,
+                cliente -> getDescartando("/api/categorias/by-deporte/" + alAzar(deporteIds) + "?conteos=true"));
+        operacion(false, "GET /api/estadisticas", 5, cliente -> getDescartando("/api/estadisticas"));
+        operacion(false, "GET /api/sync", 4, cliente -> getDescartando("/api/sync?limit=100&since="
+                + Math.max(0, revisionInicial - ThreadLocalRandom.current().nextInt(1, 500))));
+
+        Operacion alta = operacion(true, "POST /api/jugadores", 30, Cliente::altaJugador);
+        operacion(true, "PUT /api/jugadores/{id}", 20, cliente -> !cliente.jugadores.isEmpty(), alta,
+                Cliente::editarJugador);
+        operacion(true, "DELETE /api/jugadores/{id}", 10, cliente -> !cliente.jugadores.isEmpty(), alta,
+                Cliente::bajaJugador);
+        operacion(true, "POST /api/jugadores/batch", 8, Cliente::loteJugadores);
+        operacion(true, "POST /api/jugadores/import", 4, Cliente::importarJugadores);
+        operacion(true, "POST /api/jugadores/{id}/foto", 4, cliente -> subirFoto(alAzar(jugadorIds),
+                alAzar(imagenes())).statusCode());
+        operacion(true, "POST /api/categorias/{id}/reasignar", 1,
+                cliente -> enviar("POST", "/api/categorias/" + alAzar(categorias).path("id").asLong() + "/reasignar", null)
+                        .statusCode());
+        operacion(true, "POST /api/admin/recategorizar", 1,
+                cliente -> enviar("POST", "/api/admin/recategorizar", null).statusCode());
+        Operacion altaDeporte = operacion(true, "POST /api/deportes", 1, Cliente::altaDeporte);
+        operacion(true, "PUT /api/deportes/{id}", 1, cliente -> !cliente.deportes.isEmpty(), altaDeporte,
+                Cliente::editarDeporte);
+        Operacion altaCategoria = operacion(true, "POST /api/categorias", 1, cliente -> !cliente.deportes.isEmpty(),
+                altaDeporte, Cliente::altaCategoria);
+        operacion(true, "PUT /api/categorias/{id}", 1, cliente -> !cliente.categorias.isEmpty(), altaCategoria,
+                Cliente::editarCategoria);
+        operacion(true, "DELETE /api/categorias/{id}", 1, cliente -> !cliente.categorias.isEmpty(), altaCategoria,
+                Cliente::bajaCategoria);
+        // Un deporte temporal no tiene jugadores: reasignarlo con eliminar=true es otra forma de borrarlo
+        operacion(true, "POST /api/deportes/{id}/reasignar", 1, cliente -> !cliente.deportes.isEmpty(), altaDeporte,
+                Cliente::reasignarDeporte);
+        operacion(true, "DELETE /api/deportes/{id}", 1, cliente -> !cliente.deportes.isEmpty(), altaDeporte,
+                Cliente::bajaDeporte);
+    }
+
+    private Operacion operacion(boolean escritura, String nombre, int peso, Peticion peticion) {
+        return operacion(escritura, nombre, peso, null, null, peticion);
+    }
+
+    private Operacion operacion(boolean escritura, String nombre, int peso, Predicate<Cliente> disponible,
+                                Operacion alternativa, Peticion peticion) {
+        Operacion operacion = new Operacion(operaciones.size(), nombre, peso, disponible, alternativa, peticion);
+        operaciones.add(operacion);
+        (escritura ? escrituras : lecturas).add(operacion);
+        return operacion;
+    }
+
+    /**
+     * Estado de un cliente: sus mediciones por operación y lo que creó, que solo él modifica o borra.
+     * Solo lo usa su propio hilo.
+     */
+    private final class Cliente {
+        private final Latencias[] latencias = new Latencias[operaciones.size()];
+        private final List<ObjectNode> jugadores = new ArrayList<>();
+        private final List<Long> deportes = new ArrayList<>();
+        private final List<Long> categorias = new ArrayList<>();
+
+        private Cliente() {
+            Arrays.setAll(latencias, i -> new Latencias());
+        }
+
+        private void correr(long inicioMedicion, long fin) {
+            long ahora;
+            while ((ahora = System.nanoTime()) < fin) {
+                Operacion operacion = elegir();
+                boolean ok;
+                try {
+                    // Las redirecciones (foto por jugador) y 304 también son respuestas correctas
+                    ok = operacion.peticion().enviar(this) < 400;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long despues = System.nanoTime();
+                if (ahora >= inicioMedicion) {
+                    Latencias medicion = latencias[operacion.indice()];
+                    if (ok) {
+                        medicion.agregar(despues - ahora);
+                    } else {
+                        medicion.errores++;
+                    }
+                }
+            }
+        }
+
+        private Operacion elegir() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Operacion> grupo = random.nextInt(100) < porcentajeEscrituras ? escrituras : lecturas;
+            int dado = random.nextInt(grupo.stream().mapToInt(Operacion::peso).sum());
+            Operacion elegida = grupo.getLast();
+            for (Operacion operacion : grupo) {
+                dado -= operacion.peso();
+                if (dado < 0) {
+                    elegida = operacion;
+                    break;
+                }
+            }
+            // Si todavía no hay nada propio para editar o borrar, primero hay que crearlo
+            while (elegida.disponible() != null && !elegida.disponible().test(this)) {
+                elegida = elegida.alternativa();
+            }
+            return elegida;
+        }
+
+        private int altaJugador() throws IOException, InterruptedException {
+            JsonNode categoria = alAzar(EscenarioCarga.this.categorias);
+            ObjectNode cuerpo = jugadorEnCategoria(categoria);
+            HttpResponse<String> respuesta = enviar("POST", "/api/jugadores?deporteId=" + categoria.path("deporteId").asLong(), cuerpo);
+            if (respuesta.statusCode() == 201) {
+                jugadores.add(cuerpo.put("id", MAPPER.readTree(respuesta.body()).path("id").asLong()));
+            }
+            return respuesta.statusCode();
+        }
+
+        private int editarJugador() throws IOException, InterruptedException {
+            ObjectNode jugador = alAzar(jugadores);
+            jugador.put("telefonoContacto", "3" + ThreadLocalRandom.current().nextLong(100_000_000L, 999_999_999L));
+            return enviar("PUT", "/api/jugadores/" + jugador.path("id").asLong(), jugador).statusCode();
+        }
+
+        private int bajaJugador() throws IOException, InterruptedException {
+            ObjectNode jugador = jugadores.removeLast();
+            return enviar("DELETE", "/api/jugadores/" + jugador.path("id").asLong(), null).statusCode();
+        }
+
+        private int loteJugadores() throws IOException, InterruptedException {
+            ArrayNode lote = MAPPER.createArrayNode();
+            for (int i = 0; i < FILAS_POR_LOTE; i++) {
+                JsonNode categoria = alAzar(EscenarioCarga.this.categorias);
+                lote.add(jugadorEnCategoria(categoria).put("deporteId", categoria.path("deporteId").asLong()));
+            }
+            return enviar("POST", "/api/jugadores/batch", lote).statusCode();
+        }
+
+        private int importarJugadores() throws IOException, InterruptedException {
+            JsonNode categoria = alAzar(EscenarioCarga.this.categorias);
+            StringBuilder csv = new StringBuilder("nombre,apellido,documentoIdentidad,fechaNacimiento\n");
+            for (int i = 0; i < FILAS_POR_LOTE; i++) {
+                JsonNode jugador = jugadorEnCategoria(categoria);
+                csv.append(jugador.path("nombre").asText()).append(',')
+                        .append(jugador.path("apellido").asText()).append(',')
+                        .append(jugador.path("documentoIdentidad").asText()).append(',')
+                        .append(jugador.path("fechaNacimiento").asText()).append('\n');
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/jugadores/import?deporteId="
+                            + categoria.path("deporteId").asLong()))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private int altaDeporte() throws IOException, InterruptedException {
+            ObjectNode deporte = MAPPER.createObjectNode()
+                    .put("nombre", "Temporal " + prefijo + "-" + altas.incrementAndGet())
+                    .put("descripcion", "Creado por la prueba de carga");
+            HttpResponse<String> respuesta = enviar("POST", "/api/deportes", deporte);
+            if (respuesta.statusCode() == 201) {
+                deportes.add(MAPPER.readTree(respuesta.body()).path("id").asLong());
+            }
+            return respuesta.statusCode();
+        }
+
+        private int editarDeporte() throws IOException, InterruptedException {
+            long id = alAzar(deportes);
+            ObjectNode deporte = MAPPER.createObjectNode()
+                    .put("nombre", "Temporal " + prefijo + "-" + altas.incrementAndGet())
+                    .put("descripcion", "Editado por la prueba de carga");
+            return enviar("PUT", "/api/deportes/" + id, deporte).statusCode();
+        }
+
+        private int altaCategoria() throws IOException, InterruptedException {
+            int minima = ThreadLocalRandom.current().nextInt(EDAD_MINIMA, EDAD_MAXIMA);
+            ObjectNode categoria = MAPPER.createObjectNode()
+                    .put("nombre", "Temporal " + altas.incrementAndGet())
+                    .put("edadMinima", minima)
+                    .put("edadMaxima", minima + 2);
+            HttpResponse<String> respuesta = enviar("POST", "/api/categorias?deporteId=" + deportes.getLast(), categoria);
+            if (respuesta.statusCode() == 201) {
+                categorias.add(MAPPER.readTree(respuesta.body()).path("id").asLong());
+            }
+            return respuesta.statusCode();
+        }
+
+        private int editarCategoria() throws IOException, InterruptedException {
+            int minima = ThreadLocalRandom.current().nextInt(EDAD_MINIMA, EDAD_MAXIMA);
+            ObjectNode categoria = MAPPER.createObjectNode()
+                    .put("nombre", "Temporal " + altas.incrementAndGet())
+                    .put("edadMinima", minima)
+                    .put("edadMaxima", minima + 3);
+            return enviar("PUT", "/api/categorias/" + alAzar(categorias), categoria).statusCode();
+        }
+
+        private int bajaCategoria() throws IOException, InterruptedException {
+            return enviar("DELETE", "/api/categorias/" + categorias.removeLast(), null).statusCode();
+        }
+
+        private int reasignarDeporte() throws IOException, InterruptedException {
+            int status = enviar("POST", "/api/deportes/" + deportes.removeLast() + "/reasignar?eliminar=true&destinoId="
+                    + alAzar(deporteIds), null).statusCode();
+            // Las categorías temporales de ese deporte se borraron con él
+            categorias.clear();
+            return status;
+        }
+
+        private int bajaDeporte() throws IOException, InterruptedException {
+            int status = enviar("DELETE", "/api/deportes/" + deportes.removeLast(), null).statusCode();
+            categorias.clear();
+            return status;
+        }
+    }
+
+    // Un suscriptor de GET /api/eventos/stream; si el servidor lo corta por lento, vuelve a conectarse
+    private void escuchar(long fin) {
+        while (System.nanoTime() < fin) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/eventos/stream")).GET().build();
+            try (Stream<String> lineas = http.send(request, HttpResponse.BodyHandlers.ofLines()).body()) {
+                lineas.takeWhile(linea -> System.nanoTime() < fin)
+                        .filter(linea -> linea.startsWith("event:"))
+                        .forEach(linea -> eventos.incrementAndGet());
+            } catch (IOException | UncheckedIOException e) {
+                // El servidor cerró la conexión (por ejemplo, al cortar a un suscriptor lento)
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (System.nanoTime() < fin) {
+                reconexiones.incrementAndGet();
+            }
+        }
+    }
+
+    // El primer evento del stream trae la última revisión registrada
+    private long revisionActual() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/eventos/stream")).GET().build();
+        try (Stream<String> lineas = http.send(request, HttpResponse.BodyHandlers.ofLines()).body()) {
+            String datos = lineas.filter(linea -> linea.startsWith("data:")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("El stream de eventos terminó sin enviar la revisión."));
+            return MAPPER.readTree(datos.substring("data:".length())).path("revision").asLong();
+        }
+    }
+
+    private ObjectNode jugadorEnCategoria(JsonNode categoria) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode jugador = jugador(random, "C" + prefijo + "-" + altas.incrementAndGet());
+        // Una fecha de nacimiento que cae dentro del rango de la categoría elegida
+        LocalDate fechaNacimiento = LocalDate.now()
+                .minusYears(categoria.path("edadMinima").asInt())
+                .minusDays(1 + random.nextInt(300));
+        return jugador.put("fechaNacimiento", fechaNacimiento.toString());
+    }
+
+    private static ObjectNode jugador(ThreadLocalRandom random, String documento) {
+        int edad = random.nextInt(EDAD_MINIMA, EDAD_MAXIMA + 1);
+        return MAPPER.createObjectNode()
+                .put("nombre", alAzar(NOMBRES))
+                .put("apellido", alAzar(APELLIDOS) + " " + alAzar(APELLIDOS))
+                .put("documentoIdentidad", documento)
+                .put("fechaNacimiento", LocalDate.now().minusYears(edad).minusDays(random.nextInt(1, 360)).toString());
+    }
+
+    private String variosIds() {
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = 0; i < IDS_POR_PETICION; i++) {
+            ids.add(Long.toString(alAzar(jugadorIds)));
+        }
+        return ids.toString();
+    }
+
+    private static <T> T alAzar(List<T> valores) {
+        return valores.get(ThreadLocalRandom.current().nextInt(valores.size()));
+    }
+
+    private static String alAzar(String[] valores) {
+        return valores[ThreadLocalRandom.current().nextInt(valores.length)];
+    }
+
+    private static String sinAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    // Imágenes PNG chicas y distintas entre sí, generadas una sola vez: cada una es un archivo nuevo en el servidor
+    private synchronized List<byte[]> imagenes() {
+        if (imagenes.isEmpty()) {
+            for (int i = 0; i < 16; i++) {
+                imagenes.add(imagen(i));
+            }
+        }
+        return imagenes;
+    }
+
+    private static byte[] imagen(int semilla) {
+        BufferedImage imagen = new BufferedImage(240, 320, BufferedImage.TYPE_INT_RGB);
+        Color color = Color.getHSBColor((semilla * 0.137f) % 1f, 0.6f, 0.9f);
+        for (int y = 0; y < imagen.getHeight(); y++) {
+            for (int x = 0; x < imagen.getWidth(); x++) {
+                imagen.setRGB(x, y, ((x ^ y) & 16) == 0 ? color.getRGB() : color.darker().getRGB());
+            }
+        }
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(imagen, "png", salida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private HttpResponse<String> subirFoto(long jugadorId, byte[] imagen) throws IOException, InterruptedException {
+        String limite = "carga" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        byte[] cabecera = ("--" + limite + "\r\nContent-Disposition: form-data; name=\"archivo\"; filename=\"foto.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] cierre = ("\r\n--" + limite + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/jugadores/" + jugadorId + "/foto"))
+                .header("Content-Type", "multipart/form-data; boundary=" + limite)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(cabecera, imagen, cierre)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> enviar(String metodo, String ruta, JsonNode cuerpo) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + ruta));
+        if (cuerpo != null) {
+            request.header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(cuerpo.toString()));
+        } else {
+            request.method(metodo, HttpRequest.BodyPublishers.noBody());
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode leer(String ruta) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + ruta)).GET().build();
+        return MAPPER.readTree(esperarOk(http.send(request, HttpResponse.BodyHandlers.ofString())).body());
+    }
+
+    // Lee la respuesta completa sin guardarla; pide gzip como lo haría un navegador
+    private int getDescartando(String ruta) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + ruta))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static JsonNode creado(HttpResponse<String> respuesta) throws IOException {
+        if (respuesta.statusCode() != 201) {
+            throw new IllegalStateException("Se esperaba 201 de " + respuesta.request().uri() + " y respondió "
+                    + respuesta.statusCode() + ": " + respuesta.body());
+        }
+        return MAPPER.readTree(respuesta.body());
+    }
+
+    private static HttpResponse<String> esperarOk(HttpResponse<String> respuesta) {
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("Se esperaba 200 de " + respuesta.request().uri() + " y respondió "
+                    + respuesta.statusCode() + ": " + respuesta.body());
+        }
+        return respuesta;
+    }
+
+    // Acepta opciones con la forma nombre=valor (url, clientes, calentamiento, segundos, ruta, escrituras,
+    // suscriptores, y para cargar datos deportes, categorias y jugadores)
+    static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Opción inválida: " + arg + " (se espera nombre=valor)");
+            }
+            opciones.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+
+    @FunctionalInterface
+    private interface Peticion {
+        int enviar(Cliente cliente) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Un endpoint de la mezcla. Si disponible no se cumple para el cliente, se usa la alternativa.
+     */
+    private record Operacion(int indice, String nombre, int peso, Predicate<Cliente> disponible,
+                             Operacion alternativa, Peticion peticion) {
+    }
+
+    /**
+     * Latencias en nanosegundos de un solo cliente y una sola operación; solo la escribe el hilo del cliente.
+     */
+    static final class Latencias {
+        private long[] valores = new long[64];
+        private int tamano;
+        private long errores;
+
+        void agregar(long nanos) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = nanos;
+        }
+    }
+
+    /**
+     * Peticiones, errores, throughput y latencias de una operación (o del total).
+     */
+    public record Medicion(String nombre, long peticiones, long errores, double porSegundo,
+                           double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static Medicion de(String nombre, List<Latencias> mediciones, Duration duracion) {
+            int total = mediciones.stream().mapToInt(latencias -> latencias.tamano).sum();
+            long errores = mediciones.stream().mapToLong(latencias -> latencias.errores).sum();
+            long[] todas = new long[total];
+            int posicion = 0;
+            for (Latencias latencias : mediciones) {
+                System.arraycopy(latencias.valores, 0, todas, posicion, latencias.tamano);
+                posicion += latencias.tamano;
+            }
+            Arrays.sort(todas);
+            return new Medicion(nombre, total, errores, total / (double) duracion.toSeconds(),
+                    percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999),
+                    total == 0 ? 0 : todas[total - 1] / 1_000_000.0);
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-38s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                    nombre, peticiones, errores, porSegundo, p50Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+
+    /**
+     * Resumen de una corrida: una medición por operación (sin las que no se llegaron a pedir) y el total.
+     */
+    public record Resultado(int clientes, Duration duracion, List<Medicion> porOperacion, Medicion total,
+                            long eventos, long reconexiones) {
+
+        static Resultado de(int clientes, Duration duracion, List<Operacion> operaciones, List<Cliente> porCliente,
+                            long eventos, long reconexiones) {
+            List<Medicion> porOperacion = new ArrayList<>();
+            List<Latencias> todas = new ArrayList<>();
+            for (Operacion operacion : operaciones) {
+                List<Latencias> mediciones = porCliente.stream().map(cliente -> cliente.latencias[operacion.indice()]).toList();
+                todas.addAll(mediciones);
+                Medicion medicion = Medicion.de(operacion.nombre(), mediciones, duracion);
+                if (medicion.peticiones() + medicion.errores() > 0) {
+                    porOperacion.add(medicion);
+                }
+            }
+            return new Resultado(clientes, duracion, porOperacion, Medicion.de("total", todas, duracion),
+                    eventos, reconexiones);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder texto = new StringBuilder(String.format(
+                    "clientes=%d duracion=%ds peticiones=%d errores=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+                    clientes, duracion.toSeconds(), total.peticiones(), total.errores(), total.porSegundo(),
+                    total.p50Ms(), total.p99Ms(), total.p999Ms(), total.maxMs()));
+            texto.append(String.format("%-38s %9s %7s %10s %9s %9s %9s %9s%n",
+                    "endpoint", "peticiones", "errores", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+            porOperacion.forEach(medicion -> texto.append(medicion).append(System.lineSeparator()));
+            if (eventos > 0 || reconexiones > 0) {
+                texto.append(String.format("eventos SSE recibidos=%d reconexiones=%d%n", eventos, reconexiones));
+            }
+            return texto.toString();
+        }
+    }
+}
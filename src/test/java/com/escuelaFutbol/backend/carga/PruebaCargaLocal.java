@@ -0,0 +1,140 @@
+package com.escuelaFutbol.backend.carga;
+
+import com.escuelaFutbol.backend.EscuelaFutbolBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de punta a punta en una sola máquina y sin red: levanta un PostgreSQL embebido (los binarios
+ * vienen dentro de un jar de Maven), arranca la aplicación contra esa base con el perfil "loadtest"
+ * (src/test/resources/application-loadtest.properties), carga datos por la API y corre EscenarioCarga.
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="deportes=3 categorias=6 jugadores=20000 clientes=100 segundos=60"
+ *
+ * Acepta las mismas opciones que EscenarioCarga salvo url. Por defecto carga 20000 jugadores y usa 100 clientes.
+ * Con replica=true levanta una segunda instancia como réplica de lectura (replicación lógica de las tablas
+ * del dominio) y al final informa cuántas transacciones atendió cada base.
+ * Servidor, base y clientes comparten la máquina (y la aplicación y los clientes, la misma JVM): los números
+ * sirven para comparar una versión contra otra, no como capacidad absoluta. La base vive en un directorio
+ * temporal que se borra al terminar.
+ */
+public class PruebaCargaLocal {
+
+    private static final String BASE = "escuela_futbol";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = EscenarioCarga.opciones(args);
+        if (opciones.containsKey("url")) {
+            throw new IllegalArgumentException("PruebaCargaLocal levanta su propia instancia; para otra usar EscenarioCarga.");
+        }
+        boolean conReplica = Boolean.parseBoolean(opciones.remove("replica"));
+        opciones.putIfAbsent("clientes", "100");
+        opciones.putIfAbsent("jugadores", "20000");
+        // DevTools está en el classpath de test; con el reinicio activo levantaría la aplicación dos veces
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (EmbeddedPostgres postgres = iniciar(conReplica);
+             EmbeddedPostgres replica = conReplica ? iniciar(false) : null) {
+            // Como argumentos de línea de comandos para que ganen sobre application.properties
+            List<String> argumentos = new ArrayList<>(List.of(
+                    "--spring.datasource.url=" + url(postgres) + "?reWriteBatchedInserts=true",
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password="));
+            if (replica != null) {
+                replicar(postgres, replica);
+                argumentos.add("--app.datasource.replica.url=" + url(replica));
+            }
+            ConfigurableApplicationContext contexto = new SpringApplicationBuilder(EscuelaFutbolBackendApplication.class)
+                    .profiles("loadtest")
+                    .run(argumentos.toArray(String[]::new));
+            try {
+                String url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+                EscenarioCarga escenario = EscenarioCarga.desdeOpciones(opciones, url);
+                if (Integer.parseInt(opciones.get("jugadores")) > 0) {
+                    escenario.sembrar(opciones);
+                }
+                if (replica != null) {
+                    // preparar() lee de la réplica lo que acaba de cargar
+                    esperarReplica(postgres, replica);
+                }
+                escenario.preparar();
+                System.out.println(escenario.ejecutar());
+                if (replica != null) {
+                    System.out.printf("Transacciones confirmadas: primaria %d, replica %d%n",
+                            transacciones(postgres), transacciones(replica));
+                }
+            } finally {
+                contexto.close();
+            }
+        }
+    }
+
+    private static EmbeddedPostgres iniciar(boolean publicaCambios) throws IOException, SQLException {
+        EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder().setServerConfig("max_connections", "100");
+        if (publicaCambios) {
+            builder.setServerConfig("wal_level", "logical");
+        }
+        EmbeddedPostgres postgres = builder.start();
+        ejecutar(postgres, "postgres", "CREATE DATABASE " + BASE);
+        return postgres;
+    }
+
+    // Las dos bases se migran antes de arrancar la aplicación (así Flyway no encuentra nada que hacer) y solo se
+    // publican las tablas del dominio: el historial de Flyway de cada una queda como está
+    private static void replicar(EmbeddedPostgres primaria, EmbeddedPostgres replica) throws SQLException {
+        for (EmbeddedPostgres postgres : List.of(primaria, replica)) {
+            Flyway.configure().dataSource(postgres.getDatabase("postgres", BASE)).load().migrate();
+        }
+        ejecutar(primaria, BASE, "CREATE PUBLICATION escuela FOR TABLE deportes, categorias, jugadores, cambios");
+        ejecutar(replica, BASE, "CREATE SUBSCRIPTION escuela CONNECTION 'host=localhost port=" + primaria.getPort()
+                + " dbname=" + BASE + " user=postgres' PUBLICATION escuela");
+    }
+
+    private static void esperarReplica(EmbeddedPostgres primaria, EmbeddedPostgres replica)
+            throws SQLException, InterruptedException {
+        String sql = "SELECT coalesce(max(revision), 0) FROM cambios";
+        long objetivo = consultar(primaria, sql);
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (consultar(replica, sql) < objetivo) {
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("La réplica no alcanzó la revisión " + objetivo + " de la primaria");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static long transacciones(EmbeddedPostgres postgres) throws SQLException {
+        return consultar(postgres, "SELECT xact_commit FROM pg_stat_database WHERE datname = '" + BASE + "'");
+    }
+
+    private static long consultar(EmbeddedPostgres postgres, String sql) throws SQLException {
+        try (Connection conexion = postgres.getDatabase("postgres", BASE).getConnection();
+             Statement sentencia = conexion.createStatement();
+             ResultSet filas = sentencia.executeQuery(sql)) {
+            filas.next();
+            return filas.getLong(1);
+        }
+    }
+
+    private static void ejecutar(EmbeddedPostgres postgres, String base, String sql) throws SQLException {
+        try (Connection conexion = postgres.getDatabase("postgres", base).getConnection();
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(sql);
+        }
+    }
+
+    private static String url(EmbeddedPostgres postgres) {
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/" + BASE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.escuelaFutbol.backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    private record Item(Long id, Long version, Long total) {
+    }
+
+    private static final List<Item> LISTA = List.of(
+            new Item(1L, 0L, 5L),
+            new Item(2L, 3L, 0L),
+            new Item(3L, 1L, 7L));
+
+    @Test
+    void laMismaListaDaElMismoETag() {
+        assertThat(etag(List.copyOf(LISTA))).isEqualTo(etag(LISTA));
+    }
+
+    @Test
+    void lasListasUsanETagDebil() {
+        assertThat(etag(LISTA)).matches("W/\"[0-9a-f]+\"");
+        assertThat(ETags.deVersion(4L)).isEqualTo("\"4\"");
+    }
+
+    @Test
+    void unAltaCambiaElETag() {
+        assertThat(etag(List.of(LISTA.get(0), LISTA.get(1), LISTA.get(2), new Item(4L, 0L, 0L))))
+                .isNotEqualTo(etag(LISTA));
+    }
+
+    @Test
+    void unaBajaCambiaElETag() {
+        assertThat(etag(List.of(LISTA.get(0), LISTA.get(2)))).isNotEqualTo(etag(LISTA));
+        assertThat(etag(List.of(LISTA.get(0), LISTA.get(1)))).isNotEqualTo(etag(LISTA));
+    }
+
+    @Test
+    void unaEdicionCambiaElETag() {
+        assertThat(etag(List.of(LISTA.get(0), new Item(2L, 4L, 0L), LISTA.get(2)))).isNotEqualTo(etag(LISTA));
+    }
+
+    @Test
+    void unCambioDeConteoCambiaElETag() {
+        assertThat(etag(List.of(LISTA.get(0), LISTA.get(1), new Item(3L, 1L, 8L)))).isNotEqualTo(etag(LISTA));
+    }
+
+    @Test
+    void elOrdenCambiaElETag() {
+        assertThat(etag(List.of(LISTA.get(1), LISTA.get(0), LISTA.get(2)))).isNotEqualTo(etag(LISTA));
+    }
+
+    // Un campo que pasa de null a un valor (o al revés) también es un cambio
+    @Test
+    void unNullCuentaComoValor() {
+        assertThat(etag(List.of(new Item(1L, 0L, null)))).isNotEqualTo(etag(List.of(new Item(1L, 0L, 0L))));
+    }
+
+    @Test
+    void laListaVaciaTieneETag() {
+        assertThat(etag(List.of())).isNotEqualTo(etag(List.of(LISTA.get(0))));
+    }
+
+    @Test
+    void losValoresDanElETagDeUnaListaConUnCampo() {
+        assertThat(ETags.deValores(List.of(7L, 1L, 0L)))
+                .isEqualTo(ETags.deLista(List.of(7L, 1L, 0L), valor -> new Long[]{valor}))
+                .isNotEqualTo(ETags.deValores(List.of(8L, 1L, 0L)));
+    }
+
+    private static String etag(List<Item> items) {
+        return ETags.deLista(items, item -> new Long[]{item.id(), item.version(), item.total()});
+    }
+}
@@ -0,0 +1,57 @@
+package com.escuelaFutbol.backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorPageTest {
+
+    @Test
+    void decodificaLoQueCodifica() {
+        assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor(42L))).isEqualTo(42L);
+        assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void sinCursorEmpiezaDesdeElPrincipio() {
+        assertThat(CursorPage.decodeCursor(null)).isNull();
+        assertThat(CursorPage.decodeCursor("")).isNull();
+        assertThat(CursorPage.decodeCursor("   ")).isNull();
+    }
+
+    @Test
+    void rechazaCursorQueNoEsBase64() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("no es base64!"));
+        // '+' y '/' son del alfabeto estándar, no del URL-safe con que se codifica
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("aWQ6+/"));
+    }
+
+    @Test
+    void rechazaCursorSinElPrefijo() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("42")));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("offset:42")));
+    }
+
+    @Test
+    void rechazaCursorAlterado() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("id:")));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("id:abc")));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("id:42 OR 1=1")));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(codificar("id:99999999999999999999")));
+    }
+
+    @Test
+    void elErrorIncluyeElCursorRecibido() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CursorPage.decodeCursor("%%%"))
+                .withMessageContaining("Cursor inválido: %%%");
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.CategoriaRango;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.escuelaFutbol.backend.service.CategoriaIndex.SIN_CATEGORIA;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoriaIndexTest {
+
+    private static final long DEPORTE = 1L;
+
+    @Test
+    void rangosDisjuntos() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(10L, DEPORTE, 6, 8),
+                new CategoriaRango(11L, DEPORTE, 9, 11),
+                new CategoriaRango(12L, DEPORTE, 12, 14));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 6)).isEqualTo(10L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 8)).isEqualTo(10L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 9)).isEqualTo(11L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 14)).isEqualTo(12L);
+    }
+
+    @Test
+    void huecosYExtremosNoTienenCategoria() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(10L, DEPORTE, 6, 8),
+                new CategoriaRango(12L, DEPORTE, 12, 14));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 5)).isEqualTo(SIN_CATEGORIA);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 9)).isEqualTo(SIN_CATEGORIA);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 11)).isEqualTo(SIN_CATEGORIA);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 15)).isEqualTo(SIN_CATEGORIA);
+    }
+
+    // El orden de desempate es el mismo de JugadorRepository.PRIMERA_CATEGORIA_POR_EDAD:
+    // edad mínima, edad máxima e ID, los tres de mayor a menor
+    @Test
+    void conRangosSolapadosGanaLaEdadMinimaMasAlta() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(20L, DEPORTE, 10, 14),
+                new CategoriaRango(21L, DEPORTE, 12, 16));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 11)).isEqualTo(20L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 13)).isEqualTo(21L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 15)).isEqualTo(21L);
+    }
+
+    @Test
+    void conLaMismaEdadMinimaGanaLaEdadMaximaMasAlta() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(31L, DEPORTE, 10, 16),
+                new CategoriaRango(30L, DEPORTE, 10, 12));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 11)).isEqualTo(31L);
+    }
+
+    @Test
+    void conElMismoRangoGanaElIdMasAlto() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(41L, DEPORTE, 10, 12),
+                new CategoriaRango(40L, DEPORTE, 10, 12));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 11)).isEqualTo(41L);
+    }
+
+    // El último rango con edad mínima <= edad no la cubre: hay que volver sobre los anteriores
+    @Test
+    void rangoAnidadoQueNoCubreLaEdad() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(50L, DEPORTE, 5, 20),
+                new CategoriaRango(51L, DEPORTE, 8, 10));
+
+        assertThat(indice.buscarCategoriaId(DEPORTE, 9)).isEqualTo(51L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 15)).isEqualTo(50L);
+        assertThat(indice.buscarCategoriaId(DEPORTE, 21)).isEqualTo(SIN_CATEGORIA);
+    }
+
+    @Test
+    void cadaDeporteTieneSusRangos() {
+        CategoriaIndex indice = indice(
+                new CategoriaRango(60L, 1L, 6, 10),
+                new CategoriaRango(61L, 2L, 6, 10));
+
+        assertThat(indice.buscarCategoriaId(1L, 8)).isEqualTo(60L);
+        assertThat(indice.buscarCategoriaId(2L, 8)).isEqualTo(61L);
+        assertThat(indice.buscarCategoriaId(3L, 8)).isEqualTo(SIN_CATEGORIA);
+    }
+
+    // Sin repositorio: el índice se carga directamente con reemplazar(..) y nunca consulta la base
+    private static CategoriaIndex indice(CategoriaRango... rangos) {
+        CategoriaIndex indice = new CategoriaIndex(null, null);
+        indice.reemplazar(List.of(rangos));
+        return indice;
+    }
+}
@@ -0,0 +1,140 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.ImportacionJugadoresResultado;
+import com.escuelaFutbol.backend.dto.JugadorLoteItem;
+import com.escuelaFutbol.backend.dto.JugadorLoteResultado;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportacionJugadoresServiceTest {
+
+    private static final String CABECERA = "nombre,apellido,documentoIdentidad,fechaNacimiento\n";
+
+    private JugadorService jugadorService;
+    // Cada llamada a saveAll, con los nombres del bloque recibido
+    private final List<List<String>> bloques = new ArrayList<>();
+
+    // saveAll simulado: registra todo salvo los jugadores de apellido "Rechazado", con la numeración
+    // desde 0 dentro del bloque que usa el servicio real
+    @BeforeEach
+    void simularRegistro() {
+        jugadorService = mock(JugadorService.class);
+        when(jugadorService.saveAll(anyList(), any())).thenAnswer(invocacion -> {
+            List<JugadorLoteItem> items = invocacion.getArgument(0);
+            bloques.add(items.stream().map(JugadorLoteItem::nombre).toList());
+            List<JugadorLoteResultado> resultados = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                resultados.add("Rechazado".equals(items.get(i).apellido())
+                        ? JugadorLoteResultado.error(i, "rechazado: " + items.get(i).nombre())
+                        : JugadorLoteResultado.creado(i, 100L + i));
+            }
+            return resultados;
+        });
+    }
+
+    @Test
+    void registraPorBloques() throws IOException {
+        ImportacionJugadoresResultado resultado = importar(3, CABECERA
+                + "A,Uno,D1,2015-01-01\n"
+                + "B,Dos,D2,2015-01-01\n"
+                + "C,Tres,D3,2015-01-01\n"
+                + "D,Cuatro,D4,2015-01-01\n");
+
+        assertThat(resultado.filas()).isEqualTo(4);
+        assertThat(resultado.creados()).isEqualTo(4);
+        assertThat(resultado.rechazados()).isZero();
+        assertThat(bloques).containsExactly(List.of("A", "B", "C"), List.of("D"));
+    }
+
+    @Test
+    void unaCeldaInvalidaRechazaSoloSuFila() throws IOException {
+        ImportacionJugadoresResultado resultado = importar(10, CABECERA
+                + "A,Uno,D1,2015-01-01\n"
+                + "B,Dos,D2,2015-02-30\n"
+                + "C,Tres,D3,2015-01-01\n");
+
+        assertThat(resultado.filas()).isEqualTo(3);
+        assertThat(resultado.creados()).isEqualTo(2);
+        assertThat(resultado.rechazados()).isEqualTo(1);
+        assertThat(resultado.errores()).singleElement().satisfies(error -> {
+            assertThat(error.indice()).isEqualTo(1);
+            assertThat(error.error()).startsWith("Fila inválida:");
+        });
+        assertThat(bloques).containsExactly(List.of("A", "C"));
+    }
+
+    @Test
+    void unCsvMalFormadoDejaDeLeerPeroRegistraLoLeido() throws IOException {
+        ImportacionJugadoresResultado resultado = importar(10, CABECERA
+                + "A,Uno,D1,2015-01-01\n"
+                + "B,\"Dos,D2,2015-01-01\n"
+                + "C,Tres,D3,2015-01-01\n");
+
+        assertThat(resultado.creados()).isEqualTo(1);
+        assertThat(resultado.rechazados()).isEqualTo(1);
+        assertThat(resultado.errores()).singleElement().satisfies(error -> {
+            assertThat(error.indice()).isEqualTo(1);
+            assertThat(error.error()).startsWith("CSV mal formado");
+        });
+        assertThat(bloques).containsExactly(List.of("A"));
+    }
+
+    // Los rechazos de saveAll vienen numerados dentro de su bloque; el reporte los da por fila del archivo,
+    // contando también las filas que se descartaron antes de llegar al bloque
+    @Test
+    void losErroresSeNumeranPorFilaDelArchivo() throws IOException {
+        ImportacionJugadoresResultado resultado = importar(2, CABECERA
+                + "A,Uno,D1,2015-01-01\n"
+                + "B,Dos,D2,fecha\n"
+                + "C,Tres,D3,2015-01-01\n"
+                + "D,Rechazado,D4,2015-01-01\n"
+                + "E,Cinco,D5,2015-01-01\n"
+                + "F,Rechazado,D6,2015-01-01\n");
+
+        assertThat(resultado.filas()).isEqualTo(6);
+        assertThat(resultado.creados()).isEqualTo(3);
+        assertThat(resultado.rechazados()).isEqualTo(3);
+        assertThat(resultado.errores()).extracting(JugadorLoteResultado::indice).containsExactly(1, 3, 5);
+        assertThat(resultado.errores().get(1).error()).isEqualTo("rechazado: D");
+        assertThat(resultado.errores().get(2).error()).isEqualTo("rechazado: F");
+        assertThat(bloques).containsExactly(List.of("A", "C"), List.of("D", "E"), List.of("F"));
+    }
+
+    @Test
+    void usaElSeparadorYConvierteLasCeldas() throws IOException {
+        List<JugadorLoteItem> recibidos = new ArrayList<>();
+        when(jugadorService.saveAll(anyList(), any())).thenAnswer(invocacion -> {
+            List<JugadorLoteItem> items = invocacion.getArgument(0);
+            recibidos.addAll(items);
+            return List.of(JugadorLoteResultado.creado(0, 1L));
+        });
+        String csv = "apellido;fechaNacimiento;nombre;columnaDesconocida;telefonoContacto;deporteId\n"
+                + " Pérez ;2014-05-06;Ana;x;;7\n";
+
+        ImportacionJugadoresResultado resultado = new ImportacionJugadoresService(jugadorService, mock(EntityManager.class), 10)
+                .importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ';', 1L);
+
+        assertThat(resultado.creados()).isEqualTo(1);
+        assertThat(recibidos).containsExactly(
+                new JugadorLoteItem(7L, "Ana", "Pérez", null, LocalDate.of(2014, 5, 6), null, null, null));
+    }
+
+    private ImportacionJugadoresResultado importar(int tamanoBloque, String csv) throws IOException {
+        ImportacionJugadoresService servicio = new ImportacionJugadoresService(jugadorService, mock(EntityManager.class), tamanoBloque);
+        return servicio.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ',', 1L);
+    }
+}
@@ -0,0 +1,106 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.CategoriaDto;
+import com.escuelaFutbol.backend.dto.DeporteDto;
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ListadosCatalogoServiceTest {
+
+    private static final int MAXIMO_JUGADORES = 3;
+
+    private DeporteService deporteService;
+    private CategoriaService categoriaService;
+    private JugadorRepository jugadorRepository;
+    private CambioRepository cambioRepository;
+    private ListadosCatalogoService listados;
+
+    @BeforeEach
+    void crearServicio() {
+        deporteService = mock(DeporteService.class);
+        categoriaService = mock(CategoriaService.class);
+        jugadorRepository = mock(JugadorRepository.class);
+        cambioRepository = mock(CambioRepository.class);
+        listados = new ListadosCatalogoService(deporteService, categoriaService, jugadorRepository, cambioRepository,
+                MAXIMO_JUGADORES);
+        when(deporteService.findAll(false)).thenReturn(List.of(new DeporteDto(1L, "Fútbol", null, 0L)));
+        when(categoriaService.findAll(false)).thenReturn(List.of(categoria(10L, 0L), categoria(11L, 2L)));
+        when(cambioRepository.findUltimaRevision()).thenReturn(7L);
+    }
+
+    // Lo que responde 304 no debe leer ningún jugador
+    @Test
+    void laVersionNoLeeJugadores() {
+        listados.deportes().version();
+        listados.categorias().version();
+
+        verify(jugadorRepository, never()).findDtoByCategoriaIdIn(anyCollection(), any());
+    }
+
+    @Test
+    void laVersionCambiaConCadaRevision() {
+        List<Long> antes = listados.categorias().version();
+        when(cambioRepository.findUltimaRevision()).thenReturn(8L);
+
+        assertThat(listados.categorias().version()).isNotEqualTo(antes);
+    }
+
+    // Un catálogo en caché que todavía no se vació tras un cambio da otra versión que el catálogo ya actualizado
+    @Test
+    void laVersionCambiaConElCatalogo() {
+        List<Long> antes = listados.categorias().version();
+        when(categoriaService.findAll(false)).thenReturn(List.of(categoria(10L, 0L), categoria(11L, 3L)));
+
+        assertThat(listados.categorias().version()).isNotEqualTo(antes);
+    }
+
+    @Test
+    void armarCargaLosJugadoresEnUnaConsulta() {
+        when(jugadorRepository.findDtoByCategoriaIdIn(Set.of(10L, 11L), Limit.of(MAXIMO_JUGADORES + 1)))
+                .thenReturn(List.of(jugador(100L, 10L), jugador(101L, 11L), jugador(102L, 10L)));
+
+        List<DeporteDto> deportes = listados.deportes().armar();
+
+        assertThat(deportes).singleElement().satisfies(deporte -> {
+            assertThat(deporte.jugadores()).containsExactly(100L, 101L, 102L);
+            assertThat(deporte.categorias()).extracting(categoria -> categoria.jugadores().size()).containsExactly(2, 1);
+        });
+    }
+
+    // Pasado el máximo no se arma nada: se lee solo uno de más para saberlo
+    @Test
+    void masJugadoresQueElMaximoSeRechaza() {
+        when(jugadorRepository.findDtoByCategoriaIdIn(Set.of(10L, 11L), Limit.of(MAXIMO_JUGADORES + 1)))
+                .thenReturn(List.of(jugador(100L, 10L), jugador(101L, 11L), jugador(102L, 10L), jugador(103L, 11L)));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> listados.categorias().armar())
+                .withMessageContaining("conteos=true");
+    }
+
+    private static CategoriaDto categoria(Long id, Long version) {
+        return new CategoriaDto(id, "Sub-" + id, 6, 8, null, 1L, version);
+    }
+
+    private static JugadorDto jugador(Long id, Long categoriaId) {
+        return new JugadorDto(id, "Nombre", "Apellido", "D" + id, LocalDate.of(2015, 1, 1),
+                null, null, null, categoriaId, "Sub-" + categoriaId, 1L, "Fútbol", 0L);
+    }
+}
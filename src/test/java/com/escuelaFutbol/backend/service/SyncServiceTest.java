@@ -0,0 +1,151 @@
+package com.escuelaFutbol.backend.service;
+
+import com.escuelaFutbol.backend.dto.JugadorDto;
+import com.escuelaFutbol.backend.dto.SyncRespuesta;
+import com.escuelaFutbol.backend.entity.Cambio;
+import com.escuelaFutbol.backend.repository.CambioRepository;
+import com.escuelaFutbol.backend.repository.CategoriaRepository;
+import com.escuelaFutbol.backend.repository.DeporteRepository;
+import com.escuelaFutbol.backend.repository.JugadorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.escuelaFutbol.backend.entity.Cambio.Operacion.ELIMINADO;
+import static com.escuelaFutbol.backend.entity.Cambio.Operacion.GUARDADO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncServiceTest {
+
+    private CambioRepository cambioRepository;
+    private JugadorRepository jugadorRepository;
+    private DeporteRepository deporteRepository;
+    private SyncService syncService;
+
+    @BeforeEach
+    void crearServicio() {
+        cambioRepository = mock(CambioRepository.class);
+        jugadorRepository = mock(JugadorRepository.class);
+        deporteRepository = mock(DeporteRepository.class);
+        syncService = new SyncService(cambioRepository, deporteRepository, mock(CategoriaRepository.class), jugadorRepository);
+    }
+
+    @Test
+    void guardarYDespuesEliminarSeResumeEnUnaEliminacion() {
+        registro(cambio(1, 7L, GUARDADO), cambio(2, 7L, GUARDADO), cambio(3, 7L, ELIMINADO));
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(0, 100);
+
+        assertThat(respuesta.jugadores()).isEmpty();
+        assertThat(respuesta.eliminados().jugadores()).containsExactly(7L);
+        // Lo que termina eliminado dentro del rango ni siquiera se consulta
+        verify(jugadorRepository, never()).findDtoByIdIn(anyCollection());
+    }
+
+    @Test
+    void loGuardadoSeEnviaConSusDatosActuales() {
+        registro(cambio(1, 7L, GUARDADO), cambio(2, 8L, GUARDADO), cambio(3, 7L, GUARDADO));
+        when(jugadorRepository.findDtoByIdIn(Set.of(7L, 8L))).thenReturn(List.of(jugador(7L, 2L), jugador(8L, 0L)));
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(0, 100);
+
+        assertThat(respuesta.jugadores()).extracting(JugadorDto::id).containsExactlyInAnyOrder(7L, 8L);
+        assertThat(respuesta.eliminados().jugadores()).isEmpty();
+    }
+
+    // Guardado dentro del rango pero eliminado después de la última revisión incluida: ya no se puede cargar,
+    // así que se informa como eliminado (su marca de eliminación llegará en la próxima sincronización)
+    @Test
+    void loGuardadoQueYaNoExisteSeInformaComoEliminado() {
+        registro(cambio(1, 7L, GUARDADO), cambio(2, 8L, GUARDADO));
+        when(jugadorRepository.findDtoByIdIn(Set.of(7L, 8L))).thenReturn(List.of(jugador(8L, 0L)));
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(0, 100);
+
+        assertThat(respuesta.jugadores()).extracting(JugadorDto::id).containsExactly(8L);
+        assertThat(respuesta.eliminados().jugadores()).containsExactly(7L);
+    }
+
+    @Test
+    void cadaEntidadSeResumePorSeparado() {
+        registro(cambio(1, Cambio.Entidad.DEPORTE, 7L, ELIMINADO), cambio(2, 7L, ELIMINADO));
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(0, 100);
+
+        assertThat(respuesta.eliminados().deportes()).containsExactly(7L);
+        assertThat(respuesta.eliminados().jugadores()).containsExactly(7L);
+        assertThat(respuesta.eliminados().categorias()).isEmpty();
+        verify(deporteRepository, never()).findDtoByIdIn(anyCollection());
+    }
+
+    @Test
+    void elLimiteDejaCambiosParaLaProximaPeticion() {
+        List<Cambio> primeros = List.of(cambio(5, 7L, ELIMINADO), cambio(6, 8L, ELIMINADO));
+        when(cambioRepository.findUltimaRevision()).thenReturn(10L);
+        when(cambioRepository.findByRevisionGreaterThanOrderByRevisionAsc(4L, Limit.of(2))).thenReturn(primeros);
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(4, 2);
+
+        assertThat(respuesta.revision()).isEqualTo(6L);
+        assertThat(respuesta.hayMas()).isTrue();
+    }
+
+    @Test
+    void sinCambiosNuevosDevuelveLaMismaRevision() {
+        when(cambioRepository.findUltimaRevision()).thenReturn(10L);
+        when(cambioRepository.findByRevisionGreaterThanOrderByRevisionAsc(anyLong(), any())).thenReturn(List.of());
+
+        SyncRespuesta respuesta = syncService.cambiosDesde(10, 100);
+
+        assertThat(respuesta.revision()).isEqualTo(10L);
+        assertThat(respuesta.hayMas()).isFalse();
+        assertThat(respuesta.jugadores()).isEmpty();
+        assertThat(respuesta.eliminados().jugadores()).isEmpty();
+    }
+
+    @Test
+    void rechazaRevisionesQueNoExisten() {
+        when(cambioRepository.findUltimaRevision()).thenReturn(10L);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> syncService.cambiosDesde(-1, 100));
+        assertThatIllegalArgumentException().isThrownBy(() -> syncService.cambiosDesde(11, 100));
+    }
+
+    // Registro de cambios con todo lo dado a partir de la revisión 0; la última revisión es la del último cambio
+    private void registro(Cambio... cambios) {
+        long ultima = cambios[cambios.length - 1].getRevision();
+        when(cambioRepository.findUltimaRevision()).thenReturn(ultima);
+        when(cambioRepository.findByRevisionGreaterThanOrderByRevisionAsc(anyLong(), any())).thenReturn(List.of(cambios));
+    }
+
+    private static Cambio cambio(long revision, Long jugadorId, Cambio.Operacion operacion) {
+        return cambio(revision, Cambio.Entidad.JUGADOR, jugadorId, operacion);
+    }
+
+    // Cambio solo se lee desde Java (sin setters ni constructor público), así que se simula
+    private static Cambio cambio(long revision, Cambio.Entidad entidad, Long entidadId, Cambio.Operacion operacion) {
+        Cambio cambio = mock(Cambio.class);
+        when(cambio.getRevision()).thenReturn(revision);
+        when(cambio.getEntidad()).thenReturn(entidad);
+        when(cambio.getEntidadId()).thenReturn(entidadId);
+        when(cambio.getOperacion()).thenReturn(operacion);
+        return cambio;
+    }
+
+    private static JugadorDto jugador(Long id, Long version) {
+        return new JugadorDto(id, "Nombre", "Apellido", "D" + id, LocalDate.of(2015, 1, 1),
+                null, null, null, 1L, "Sub-10", 1L, "Fútbol", version);
+    }
+}